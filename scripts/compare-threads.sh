@@ -0,0 +1,105 @@
+#!/usr/bin/env bash
+# Compare platform and virtual threads under the same open-loop load.
+#
+# Starts the application once per broker profile (default TCP broker,
+# 'embedded') and thread mode (platform, 'virtual-threads'), drives it with
+# LoadGenerator at every client concurrency and prints throughput and
+# p99 latency per run. Each start is warmed up by one unreported run.
+# Histograms go to target/threads/<run>/.
+#
+# Requires JDK 21+ for the virtual thread runs, a compiled tree
+# (./mvnw compile) and, for the default profile, a broker on
+# tcp://localhost:61616. Environment (all optional):
+#   JAVA_21       java executable of JDK 21+ (default: java on PATH)
+#   APP_ARGS      extra application arguments, e.g. the datasource URLs
+#   PROFILES      broker profiles to run (default: "default embedded")
+#   CONCURRENCY   client workers per run (default: "16 64 256")
+#   RATE          requests per second (default: 200)
+#   DURATION      measured seconds per run (default: 30)
+#   WARMUP        warmup seconds per start and per run (default: 30)
+#   MIX           operation mix (default: LoadGenerator default)
+#   PORT          application port (default: 8090)
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+
+JAVA_21=${JAVA_21:-java}
+APP_ARGS=${APP_ARGS:-}
+PROFILES=${PROFILES:-default embedded}
+CONCURRENCY=${CONCURRENCY:-16 64 256}
+RATE=${RATE:-200}
+DURATION=${DURATION:-30}
+WARMUP=${WARMUP:-30}
+MIX=${MIX:-list=10,get=50,post=15,put=15,delete=5,purchase=5}
+PORT=${PORT:-8090}
+OUT=target/threads
+
+mkdir -p "$OUT"
+if [ ! -s "$OUT/classpath.txt" ]; then
+    ./mvnw -B -q dependency:build-classpath -Dmdep.outputFile="$OUT/classpath.txt" -Dmdep.includeScope=runtime
+fi
+CP="target/classes:$(cat "$OUT/classpath.txt")"
+# The client runs outside Spring Boot, so Logback would log at DEBUG
+cat > "$OUT/logback-client.xml" <<'XML'
+<configuration>
+    <appender name="STDERR" class="ch.qos.logback.core.ConsoleAppender">
+        <target>System.err</target>
+        <encoder><pattern>%d %-5level %logger{36} - %msg%n</pattern></encoder>
+    </appender>
+    <root level="WARN"><appender-ref ref="STDERR"/></root>
+</configuration>
+XML
+
+app=
+stop_app() {
+    if [ -n "$app" ]; then
+        kill "$app" 2>/dev/null || true
+        wait "$app" 2>/dev/null || true
+        app=
+    fi
+}
+trap stop_app EXIT
+
+printf '%-9s %-9s %11s %9s %9s %9s %9s\n' profile threads concurrency req/s errors p50,ms p99,ms
+for profile in $PROFILES; do
+    for threads in platform virtual; do
+        active=$([ "$profile" = default ] || echo "$profile")
+        if [ "$threads" = virtual ]; then
+            active=${active:+$active,}virtual-threads
+        fi
+        log="$OUT/$profile-$threads.log"
+        # shellcheck disable=SC2086
+        "$JAVA_21" -cp "$CP" ru.sfu.boot.Application --server.port="$PORT" \
+            --spring.profiles.active="$active" $APP_ARGS > "$log" 2>&1 &
+        app=$!
+        until curl -sf -o /dev/null "http://localhost:$PORT/tvs?limit=1" -H 'Accept: application/json'; do
+            if ! kill -0 "$app" 2>/dev/null; then
+                echo "Application failed to start, see $log" >&2
+                exit 1
+            fi
+            sleep 1
+        done
+
+        # Warm the server up once, so the first measured run is not the one paying for JIT
+        "$JAVA_21" -Dlogback.configurationFile="$OUT/logback-client.xml" \
+            -cp "$CP" ru.sfu.boot.rest.LoadGenerator \
+            --url="http://localhost:$PORT" --rate="$RATE" --duration="$WARMUP" --warmup=0 \
+            --mix="$MIX" --histograms="$OUT/$profile-$threads-warmup" > /dev/null 2>&1
+
+        for concurrency in $CONCURRENCY; do
+            run="$profile-$threads-$concurrency"
+            "$JAVA_21" -Dlogback.configurationFile="$OUT/logback-client.xml" \
+                -cp "$CP" ru.sfu.boot.rest.LoadGenerator \
+                --url="http://localhost:$PORT" --rate="$RATE" --concurrency="$concurrency" \
+                --duration="$DURATION" --warmup="$WARMUP" --mix="$MIX" \
+                --histograms="$OUT/$run" > "$OUT/$run.txt" 2> "$OUT/$run.err"
+            awk -v p="$profile" -v t="$threads" -v c="$concurrency" \
+                '$1 == "total" { printf "%-9s %-9s %11s %9s %9s %9s %9s\n", p, t, c, $4, $3, $5, $7 }' \
+                "$OUT/$run.txt"
+            if grep -q '^> INCOMPLETE' "$OUT/$run.txt"; then
+                echo "$run did not complete, see $OUT/$run.txt" >&2
+            fi
+        done
+        stop_app
+    done
+done
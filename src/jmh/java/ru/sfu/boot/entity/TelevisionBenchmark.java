@@ -0,0 +1,71 @@
+package ru.sfu.boot.entity;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Television rendering benchmarks: toString and Jackson list serialization
+ * @author Agapchenko V.V.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TelevisionBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int size;
+
+    private Television tv;
+    private List<Television> tvs;
+    private ObjectWriter writer;
+
+    /**
+     * Prepare Televisions and writer
+     */
+    @Setup
+    public void setup() {
+        tv = television(1);
+        tvs = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            tvs.add(television(i));
+        }
+        writer = new ObjectMapper().findAndRegisterModules().writer();
+    }
+
+    /**
+     * Television.toString(), formerly the body of every Alert
+     * @return Text
+     */
+    @Benchmark
+    public String televisionToString() {
+        return tv.toString();
+    }
+
+    /**
+     * Jackson serialization of a Television list, as returned by GET /tvs
+     * @return JSON bytes
+     * @throws JsonProcessingException Never for this input
+     */
+    @Benchmark
+    public byte[] jacksonList() throws JsonProcessingException {
+        return writer.writeValueAsBytes(tvs);
+    }
+
+    /**
+     * Create sample Television
+     * @param id Identification Number
+     * @return Television
+     */
+    static Television television(int id) {
+        return new Television(id, "Model " + id, "Producer", "Country", 1920, 1080);
+    }
+}
@@ -0,0 +1,107 @@
+package ru.sfu.boot.entity;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encode and decode time of a Television page per wire format.
+ * 'reflective-json' is the former bean-introspected JSON, the other
+ * formats use the hand-written serializer. Encoded sizes are printed
+ * at setup.
+ * @author Agapchenko V.V.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TelevisionCodecBenchmark {
+
+    /**
+     * Wire format
+     */
+    @Param({"reflective-json", "json", "cbor", "smile"})
+    private String format;
+
+    /**
+     * Page size
+     */
+    @Param({"100"})
+    private int size;
+
+    private List<Television> tvs;
+    private ObjectWriter writer;
+    private ObjectReader reader;
+    private byte[] encoded;
+
+    /**
+     * Prepare Televisions, mapper of the format and encoded page
+     * @throws IOException Never for this input
+     */
+    @Setup
+    public void setup() throws IOException {
+        tvs = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Television tv = new Television(i, "43PFS5505/" + i, "Philips", "Russia", 1920, 1080);
+            tv.setVersion(i % 7);
+            tv.setModifiedAt(Instant.ofEpochSecond(1_700_000_000L + i, 123_456_000));
+            tvs.add(tv);
+        }
+
+        ObjectMapper mapper = new ObjectMapper(factory(format)).findAndRegisterModules();
+        if (!"reflective-json".equals(format)) {
+            mapper.registerModule(new TelevisionJacksonModule());
+        }
+        mapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        writer = mapper.writerFor(mapper.getTypeFactory().constructCollectionType(List.class, Television.class));
+        reader = mapper.readerFor(mapper.getTypeFactory().constructCollectionType(List.class, Television.class));
+        encoded = writer.writeValueAsBytes(tvs);
+        System.out.printf("%n%s: %d bytes per %d Televisions%n", format, encoded.length, size);
+    }
+
+    /**
+     * Encode a page, as sent by GET /tvs
+     * @return Encoded bytes
+     * @throws IOException Never for this input
+     */
+    @Benchmark
+    public byte[] encode() throws IOException {
+        return writer.writeValueAsBytes(tvs);
+    }
+
+    /**
+     * Decode a page, as received by RestClient
+     * @return Televisions
+     * @throws IOException Never for this input
+     */
+    @Benchmark
+    public List<Television> decode() throws IOException {
+        return reader.readValue(encoded);
+    }
+
+    /**
+     * Get token factory of format
+     * @param format Wire format
+     * @return Token factory
+     */
+    private static JsonFactory factory(String format) {
+        return switch (format) {
+            case "cbor" -> new CBORFactory();
+            case "smile" -> new SmileFactory();
+            default -> new JsonFactory();
+        };
+    }
+}
@@ -0,0 +1,62 @@
+package ru.sfu.boot.index;
+
+import org.openjdk.jmh.annotations.*;
+import ru.sfu.boot.entity.Television;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Search Index query latency over a synthetic catalogue
+ * @author Agapchenko V.V.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SearchIndexBenchmark {
+
+    private static final String[] PRODUCERS = {
+            "Samsung", "LG", "Sony", "Philips", "Panasonic",
+            "Hisense", "TCL", "Xiaomi", "Sharp", "Toshiba"
+    };
+    private static final String[] SERIES = {"OLED", "QLED", "NanoCell", "Bravia", "Ambilight"};
+
+    /**
+     * Number of indexed Televisions
+     */
+    @Param({"10000", "100000"})
+    private int size;
+
+    /**
+     * Search query: prefix, exact model, typo, multi-word
+     */
+    @Param({"sam", "oled55c7", "samsnug", "samsung oled55"})
+    private String query;
+
+    private SearchIndex index;
+
+    /**
+     * Fill the index with generated models
+     */
+    @Setup
+    public void setup() {
+        index = new SearchIndex();
+        for (int i = 0; i < size; i++) {
+            String model = SERIES[i % SERIES.length] + (32 + i % 50) + "C" + (i % 10)
+                    + "/" + (i % 997);
+            index.put(new Television(i, model, PRODUCERS[i % PRODUCERS.length],
+                    "Country", 1920, 1080));
+        }
+    }
+
+    /**
+     * Search top 20 Televisions
+     * @return Ranked IDs
+     */
+    @Benchmark
+    public int[] search() {
+        return index.search(query, 20);
+    }
+}
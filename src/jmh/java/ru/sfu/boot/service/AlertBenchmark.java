@@ -0,0 +1,98 @@
+package ru.sfu.boot.service;
+
+import org.openjdk.jmh.annotations.*;
+import ru.sfu.boot.entity.Alert;
+import ru.sfu.boot.entity.Television;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Alert encoding benchmarks: Java serialization against the binary codec
+ * @author Agapchenko V.V.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class AlertBenchmark {
+
+    private Alert alert;
+    private byte[] serialized;
+    private byte[] encoded;
+    private final AlertCodec.Buffer buffer = new AlertCodec.Buffer();
+
+    /**
+     * Prepare Alert in both encodings
+     * @throws IOException Never for this input
+     */
+    @Setup
+    public void setup() throws IOException {
+        alert = Alert.of(Alert.Action.CREATE, new Television(
+                1, "Model 1", "Producer", "Country", 1920, 1080
+        ));
+        serialized = serialize();
+        encoded = AlertCodec.toBytes(alert);
+    }
+
+    /**
+     * Java serialization, as used by ObjectMessage
+     * @return Bytes
+     * @throws IOException Never for this input
+     */
+    @Benchmark
+    public byte[] serialize() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(alert);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Java deserialization
+     * @return Alert
+     * @throws IOException Never for this input
+     * @throws ClassNotFoundException Never for this input
+     */
+    @Benchmark
+    public Object deserialize() throws IOException, ClassNotFoundException {
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(serialized))) {
+            return in.readObject();
+        }
+    }
+
+    /**
+     * Binary codec into a fresh array
+     * @return Bytes
+     */
+    @Benchmark
+    public byte[] codecToBytes() {
+        return AlertCodec.toBytes(alert);
+    }
+
+    /**
+     * Binary codec into a reused buffer, as done by the message converter
+     * @return Encoded length
+     */
+    @Benchmark
+    public int codecEncode() {
+        AlertCodec.encode(alert, buffer);
+        return buffer.length();
+    }
+
+    /**
+     * Binary codec decoding
+     * @return Alert
+     */
+    @Benchmark
+    public Alert codecDecode() {
+        return AlertCodec.decode(encoded);
+    }
+}
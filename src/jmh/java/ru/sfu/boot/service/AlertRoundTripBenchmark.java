@@ -0,0 +1,122 @@
+package ru.sfu.boot.service;
+
+import jakarta.jms.Connection;
+import jakarta.jms.DeliveryMode;
+import jakarta.jms.JMSException;
+import jakarta.jms.Message;
+import jakarta.jms.MessageConsumer;
+import jakarta.jms.MessageProducer;
+import jakarta.jms.Queue;
+import jakarta.jms.Session;
+import org.apache.activemq.artemis.api.core.TransportConfiguration;
+import org.apache.activemq.artemis.core.config.Configuration;
+import org.apache.activemq.artemis.core.config.impl.ConfigurationImpl;
+import org.apache.activemq.artemis.core.remoting.impl.invm.InVMAcceptorFactory;
+import org.apache.activemq.artemis.core.server.JournalType;
+import org.apache.activemq.artemis.core.server.embedded.EmbeddedActiveMQ;
+import org.apache.activemq.artemis.jms.client.ActiveMQConnectionFactory;
+import org.openjdk.jmh.annotations.*;
+import ru.sfu.boot.entity.Alert;
+import ru.sfu.boot.entity.Television;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Alert round trip over ActiveMQ Artemis: send in a JMS transaction,
+ * as the outbox relay does, then receive and decode, as the listener does.
+ * The broker runs in this JVM with the journal settings of the 'embedded'
+ * profile; clients reach it over the in-VM acceptor or over TCP, so the
+ * difference is the transport and wire encoding cost that native mode
+ * adds on top of an external broker's own latency.
+ * @author Agapchenko V.V.
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AlertRoundTripBenchmark {
+
+    private static final String QUEUE = "television-queue";
+    private static final String TCP_URL = "tcp://localhost:61626";
+
+    /**
+     * Client transport: 'in-vm' (embedded profile) or 'tcp' (native mode)
+     */
+    @Param({"in-vm", "tcp"})
+    private String transport;
+
+    private EmbeddedActiveMQ broker;
+    private Connection connection;
+    private Session producerSession;
+    private MessageProducer producer;
+    private MessageConsumer consumer;
+    private final AlertMessageConverter converter = new AlertMessageConverter();
+    private Alert alert;
+
+    /**
+     * Start broker and connect producer and consumer
+     * @throws Exception Broker or connection failure
+     */
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        Configuration configuration = new ConfigurationImpl()
+                .setSecurityEnabled(false)
+                .setPersistenceEnabled(true)
+                .setJournalDirectory("target/jmh/artemis/journal")
+                .setBindingsDirectory("target/jmh/artemis/bindings")
+                .setLargeMessagesDirectory("target/jmh/artemis/large-messages")
+                .setPagingDirectory("target/jmh/artemis/paging")
+                .setJournalType(JournalType.MAPPED)
+                .setJournalFileSize(10485760)
+                .setJournalMinFiles(4)
+                .setJournalPoolFiles(10)
+                .setJournalBufferTimeout_NIO(500000)
+                .setJournalBufferTimeout_AIO(500000)
+                .setJournalSyncTransactional(true)
+                .setJournalSyncNonTransactional(false)
+                .addAcceptorConfiguration(new TransportConfiguration(InVMAcceptorFactory.class.getName()))
+                .addAcceptorConfiguration("tcp", TCP_URL);
+        broker = new EmbeddedActiveMQ();
+        broker.setConfiguration(configuration);
+        broker.start();
+
+        String url = "in-vm".equals(transport) ? "vm://0" : TCP_URL + "?blockOnDurableSend=true";
+        connection = new ActiveMQConnectionFactory(url).createConnection();
+        producerSession = connection.createSession(true, Session.SESSION_TRANSACTED);
+        Queue queue = producerSession.createQueue(QUEUE);
+        producer = producerSession.createProducer(queue);
+        producer.setDeliveryMode(DeliveryMode.PERSISTENT);
+        consumer = connection.createSession(false, Session.AUTO_ACKNOWLEDGE).createConsumer(queue);
+        connection.start();
+
+        alert = Alert.of(Alert.Action.CREATE, new Television(
+                1, "Model 1", "Producer", "Country", 1920, 1080
+        ));
+    }
+
+    /**
+     * Disconnect and stop broker
+     * @throws Exception Broker or connection failure
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        connection.close();
+        broker.stop();
+    }
+
+    /**
+     * Send one Alert in a transaction and receive it
+     * @return Received Alert
+     * @throws JMSException Send or receive failure
+     */
+    @Benchmark
+    public Object roundTrip() throws JMSException {
+        Message message = converter.toMessage(alert, producerSession);
+        message.setStringProperty(AlertServiceImpl.GROUP_ID_PROPERTY, "1");
+        producer.send(message);
+        producerSession.commit();
+        return converter.fromMessage(consumer.receive(1000));
+    }
+}
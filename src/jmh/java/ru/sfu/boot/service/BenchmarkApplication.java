@@ -0,0 +1,43 @@
+package ru.sfu.boot.service;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import ru.sfu.boot.Application;
+
+/**
+ * Starts the application for end-to-end benchmarks: random port,
+ * embedded broker without persistence, no devtools restarts.
+ * The database is taken from 'spring.datasource.url' and
+ * 'spring.r2dbc.url', e.g. passed with '-jvmArgsAppend'.
+ * @author Agapchenko V.V.
+ */
+final class BenchmarkApplication {
+
+    private BenchmarkApplication() {
+    }
+
+    /**
+     * Start the application
+     * @return Application context
+     */
+    static ConfigurableApplicationContext start() {
+        return new SpringApplicationBuilder(Application.class)
+                .profiles("embedded")
+                .properties(
+                        "server.port=0",
+                        "spring.devtools.restart.enabled=false",
+                        "spring.artemis.embedded.persistent=false",
+                        "alert.journal.directory=target/jmh/alert-journal"
+                )
+                .run();
+    }
+
+    /**
+     * Get HTTP port of the started application
+     * @param context Application context
+     * @return Local server port
+     */
+    static int port(ConfigurableApplicationContext context) {
+        return context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+    }
+}
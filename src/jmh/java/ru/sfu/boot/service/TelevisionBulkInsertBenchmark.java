@@ -0,0 +1,133 @@
+package ru.sfu.boot.service;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.sfu.boot.entity.Television;
+import ru.sfu.boot.index.TelevisionIndexes;
+import ru.sfu.boot.repository.TelevisionRepository;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bulk insert throughput on PostgreSQL: one 'unnest' statement of
+ * {@link TelevisionRepository#insertAllIfAbsent} against the whole
+ * {@link TelevisionService#createAll} path, which adds ID allocation,
+ * the outbox Alert and index updates after commit.
+ * Inserted rows are reported per second next to the batch throughput.
+ * <p>
+ * Runs the application with {@link BenchmarkApplication}; every iteration
+ * ends by deleting the inserted Televisions.
+ * @author Agapchenko V.V.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TelevisionBulkInsertBenchmark {
+
+    private static final String MODEL_PREFIX = "BULK-";
+
+    /**
+     * Number of Televisions inserted per call
+     */
+    @Param({"100", "1000", "10000"})
+    private int batchSize;
+
+    private ConfigurableApplicationContext context;
+    private TelevisionService service;
+    private TelevisionRepository rep;
+    private TelevisionIdAllocator idAllocator;
+    private TelevisionIndexes indexes;
+    private JdbcTemplate jdbc;
+
+    /**
+     * Rows inserted, reported as a rate next to the batch throughput
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Rows {
+        /**
+         * Inserted rows
+         */
+        public long rows;
+    }
+
+    /**
+     * Start the application
+     */
+    @Setup(Level.Trial)
+    public void start() {
+        context = BenchmarkApplication.start();
+        service = context.getBean(TelevisionService.class);
+        rep = context.getBean(TelevisionRepository.class);
+        idAllocator = context.getBean(TelevisionIdAllocator.class);
+        indexes = context.getBean(TelevisionIndexes.class);
+        jdbc = context.getBean(JdbcTemplate.class);
+    }
+
+    /**
+     * Delete inserted Televisions and drop them from the indexes
+     */
+    @TearDown(Level.Iteration)
+    public void clean() {
+        int[] ids = jdbc.queryForList(
+                "delete from televisions where model like ? returning id",
+                Integer.class, MODEL_PREFIX + "%"
+        ).stream().mapToInt(Integer::intValue).toArray();
+        indexes.refresh(ids);
+    }
+
+    /**
+     * Stop the application
+     */
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    /**
+     * Insert a batch with one repository statement
+     * @param rows Inserted rows counter
+     * @return IDs of inserted Televisions
+     */
+    @Benchmark
+    public List<Integer> insertAllIfAbsent(Rows rows) {
+        List<Television> tvs = newTelevisions();
+        for (Television tv : tvs) {
+            tv.setId(idAllocator.next());
+        }
+        List<Integer> inserted = rep.insertAllIfAbsent(tvs, Instant.now());
+        rows.rows += inserted.size();
+        return inserted;
+    }
+
+    /**
+     * Create a batch through the service
+     * @param rows Inserted rows counter
+     * @return Created Televisions
+     */
+    @Benchmark
+    public List<Television> createAll(Rows rows) {
+        List<Television> created = service.createAll(newTelevisions());
+        rows.rows += created.size();
+        return created;
+    }
+
+    /**
+     * Create a batch of new Televisions without IDs
+     * @return Televisions
+     */
+    private List<Television> newTelevisions() {
+        List<Television> tvs = new ArrayList<>(batchSize);
+        for (int i = 0; i < batchSize; i++) {
+            tvs.add(new Television(0, MODEL_PREFIX + i, "Benchmark", "Russia", 1920, 1080));
+        }
+        return tvs;
+    }
+}
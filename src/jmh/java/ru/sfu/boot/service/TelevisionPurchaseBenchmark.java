@@ -0,0 +1,132 @@
+package ru.sfu.boot.service;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import ru.sfu.boot.entity.Television;
+import ru.sfu.boot.repository.TelevisionRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Contended purchase benchmark: many threads buy from a small stock of
+ * Televisions through {@link TelevisionService#sell(int)} on PostgreSQL.
+ * Every iteration starts with fresh stock and ends by checking that each
+ * sold Television has exactly one winning buyer.
+ * <p>
+ * Runs the application on a random port with the embedded broker profile;
+ * point it at a database with
+ * {@code -jvmArgsAppend -Dspring.datasource.url=jdbc:postgresql://host:port/db}.
+ * @author Agapchenko V.V.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(16)
+@State(Scope.Benchmark)
+public class TelevisionPurchaseBenchmark {
+
+    /**
+     * Number of Televisions on sale per iteration; a small stock is sold
+     * out at once, so most buyers lose
+     */
+    @Param({"16", "1000"})
+    private int stock;
+
+    private ConfigurableApplicationContext context;
+    private TelevisionService service;
+    private TelevisionRepository rep;
+    private int[] ids;
+    private final LongAdder wins = new LongAdder();
+
+    /**
+     * Purchases of one thread, reported as rates next to the throughput
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Purchases {
+        /**
+         * Purchases won
+         */
+        public long won;
+        /**
+         * Purchases lost to another buyer
+         */
+        public long lost;
+    }
+
+    /**
+     * Start the application
+     */
+    @Setup(Level.Trial)
+    public void start() {
+        context = BenchmarkApplication.start();
+        service = context.getBean(TelevisionService.class);
+        rep = context.getBean(TelevisionRepository.class);
+    }
+
+    /**
+     * Put fresh stock on sale
+     */
+    @Setup(Level.Iteration)
+    public void restock() {
+        List<Television> tvs = new ArrayList<>(stock);
+        for (int i = 0; i < stock; i++) {
+            tvs.add(new Television(0, "BENCH-" + i, "Benchmark", "Russia", 1920, 1080));
+        }
+        ids = service.createAll(tvs).stream().mapToInt(Television::getId).toArray();
+        wins.reset();
+    }
+
+    /**
+     * Check every sold Television was won exactly once, then remove the stock
+     */
+    @TearDown(Level.Iteration)
+    public void verify() {
+        List<Integer> stockIds = new ArrayList<>(ids.length);
+        for (int id : ids) {
+            stockIds.add(id);
+        }
+        long sold = 0;
+        for (Television tv : rep.findAllById(stockIds)) {
+            if (tv.isSold()) {
+                sold++;
+            }
+        }
+        if (sold != wins.sum()) {
+            throw new IllegalStateException(
+                    "Sold " + sold + " Televisions, but " + wins.sum() + " purchases won");
+        }
+        stockIds.forEach(service::deleteById);
+    }
+
+    /**
+     * Stop the application
+     */
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    /**
+     * Buy a random Television of the stock
+     * @param purchases Purchases of this thread
+     * @return Operation result: true - won, false - lost
+     */
+    @Benchmark
+    public boolean purchase(Purchases purchases) {
+        boolean won = service.sell(ids[ThreadLocalRandom.current().nextInt(ids.length)]);
+        if (won) {
+            wins.increment();
+            purchases.won++;
+        } else {
+            purchases.lost++;
+        }
+        return won;
+    }
+}
@@ -0,0 +1,132 @@
+package ru.sfu.boot.service;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Pageable;
+import ru.sfu.boot.entity.Television;
+import ru.sfu.boot.index.FacetIndex;
+import ru.sfu.boot.index.ResolutionIndex;
+import ru.sfu.boot.index.SearchIndex;
+import ru.sfu.boot.index.TelevisionIndexes;
+import ru.sfu.boot.repository.TelevisionRepository;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Television Service read path benchmarks over a mocked repository,
+ * so only service, cache and index logic is measured
+ * @author Agapchenko V.V.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TelevisionServiceBenchmark {
+
+    /**
+     * Number of Televisions in the mocked repository
+     */
+    private static final int SIZE = 10_000;
+    /**
+     * Number of distinct resolutions among them
+     */
+    private static final int RESOLUTIONS = 100;
+
+    /**
+     * Near cache size; 0 makes every read a miss
+     */
+    @Param({"10000", "0"})
+    private int cacheSize;
+
+    private TelevisionService service;
+    private int next;
+
+    /**
+     * Build the service over a stub-only repository mock
+     */
+    @Setup
+    public void setup() {
+        List<Television> tvs = new ArrayList<>(SIZE);
+        for (int i = 0; i < SIZE; i++) {
+            int resolution = i % RESOLUTIONS;
+            tvs.add(new Television(i, "Model " + i, "Producer", "Country",
+                    1000 + resolution, 1000 + resolution));
+        }
+
+        // Stub-only mocks do not record invocations, so they do not grow during a run
+        TelevisionRepository rep = mock(TelevisionRepository.class, withSettings().stubOnly());
+        when(rep.findById(anyInt())).thenAnswer(call ->
+                Optional.of(tvs.get(call.<Integer>getArgument(0))));
+        when(rep.findAllById(any())).thenAnswer(call -> {
+            List<Television> found = new ArrayList<>();
+            call.<Iterable<Integer>>getArgument(0).forEach(id -> found.add(tvs.get(id)));
+            return found;
+        });
+        when(rep.findByIdGreaterThanOrderByIdAsc(anyInt(), any(Pageable.class))).thenAnswer(call -> {
+            int from = call.<Integer>getArgument(0) + 1;
+            int to = Math.min(SIZE, from + call.<Pageable>getArgument(1).getPageSize());
+            return from < to ? tvs.subList(from, to) : List.of();
+        });
+        when(rep.findBySoldAndIdGreaterThanOrderByIdAsc(eq(false), anyInt(), any(Pageable.class)))
+                .thenAnswer(call -> {
+                    int from = call.<Integer>getArgument(1) + 1;
+                    int to = Math.min(SIZE, from + call.<Pageable>getArgument(2).getPageSize());
+                    return from < to ? tvs.subList(from, to) : List.of();
+                });
+
+        ResolutionIndex resolutions = new ResolutionIndex();
+        SearchIndex search = new SearchIndex();
+        TelevisionIndexes indexes = new TelevisionIndexes(List.of(resolutions, search), rep, 500);
+        indexes.build();
+
+        service = new TelevisionServiceImpl(
+                rep,
+                mock(AlertService.class, withSettings().stubOnly()),
+                new TelevisionCache(cacheSize, cacheSize, Duration.ofMinutes(1), 500),
+                mock(CacheInvalidationBroadcaster.class, withSettings().stubOnly()),
+                indexes,
+                resolutions,
+                search,
+                new FacetIndex(),
+                new TelevisionIdAllocator(rep, 50)
+        );
+    }
+
+    /**
+     * Get Television by ID
+     * @return Television
+     */
+    @Benchmark
+    public Television getById() {
+        next = (next + 1) % SIZE;
+        return service.getById(next);
+    }
+
+    /**
+     * Get Televisions by Width + Height via resolution index
+     * @return Televisions
+     */
+    @Benchmark
+    public List<Television> getByWidthAndHeight() {
+        next = (next + 1) % RESOLUTIONS;
+        return service.getByWidthAndHeight(1000 + next, 1000 + next);
+    }
+
+    /**
+     * Get a page of Not Sold Televisions
+     * @return Televisions
+     */
+    @Benchmark
+    public List<Television> getNotSoldPage() {
+        next = (next + 100) % SIZE;
+        return service.getNotSold(next - 1, 100);
+    }
+}
@@ -0,0 +1,105 @@
+package ru.sfu.boot.service;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import ru.sfu.boot.entity.Television;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Concurrent clients tailing the whole unsold inventory as NDJSON, over
+ * the servlet API ('GET /tvs', one request thread per stream) and over
+ * the reactive API ('GET /reactive/tvs', R2DBC with backpressure).
+ * Runs the application with {@link BenchmarkApplication} and makes sure
+ * the database holds at least {@link #STOCK} unsold Televisions.
+ * @author Agapchenko V.V.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(32)
+@State(Scope.Benchmark)
+public class TelevisionStreamBenchmark {
+
+    /**
+     * Minimum number of unsold Televisions streamed per request
+     */
+    private static final int STOCK = 10_000;
+
+    /**
+     * API serving the stream
+     */
+    @Param({"servlet", "reactive"})
+    private String api;
+
+    private ConfigurableApplicationContext context;
+    private final List<Integer> seeded = new ArrayList<>();
+    private final HttpClient client = HttpClient.newHttpClient();
+    private HttpRequest request;
+
+    /**
+     * Start the application and seed unsold Televisions
+     */
+    @Setup(Level.Trial)
+    public void start() {
+        context = BenchmarkApplication.start();
+        TelevisionService service = context.getBean(TelevisionService.class);
+        List<Television> tvs = new ArrayList<>(STOCK);
+        for (int i = service.getNotSold(-1, STOCK).size(); i < STOCK; i++) {
+            tvs.add(new Television(0, "STREAM-" + i, "Benchmark", "Russia", 1920, 1080));
+        }
+        service.createAll(tvs).forEach(tv -> seeded.add(tv.getId()));
+
+        String path = "servlet".equals(api) ? "/tvs" : "/reactive/tvs";
+        request = HttpRequest.newBuilder(URI.create(
+                        "http://localhost:" + BenchmarkApplication.port(context) + path))
+                .header("Accept", "application/x-ndjson")
+                .build();
+    }
+
+    /**
+     * Remove seeded Televisions and stop the application
+     */
+    @TearDown(Level.Trial)
+    public void stop() {
+        TelevisionService service = context.getBean(TelevisionService.class);
+        seeded.forEach(service::deleteById);
+        context.close();
+    }
+
+    /**
+     * Stream all unsold Televisions, reading the body as it arrives
+     * @return Number of streamed Televisions
+     * @throws IOException Request failure
+     * @throws InterruptedException Interrupted while waiting for response
+     */
+    @Benchmark
+    public long stream() throws IOException, InterruptedException {
+        HttpResponse<InputStream> response = client.send(request, HttpResponse.BodyHandlers.ofInputStream());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Status " + response.statusCode());
+        }
+        long lines = 0;
+        byte[] chunk = new byte[8192];
+        try (InputStream body = response.body()) {
+            for (int n; (n = body.read(chunk)) > 0; ) {
+                for (int i = 0; i < n; i++) {
+                    if (chunk[i] == '\n') {
+                        lines++;
+                    }
+                }
+            }
+        }
+        return lines;
+    }
+}
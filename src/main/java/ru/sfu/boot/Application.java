@@ -2,11 +2,13 @@ package ru.sfu.boot;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * Spring Boot Application
  */
 @SpringBootApplication
+@EnableScheduling
 public class Application {
 
     /**
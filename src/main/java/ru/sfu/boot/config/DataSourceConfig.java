@@ -0,0 +1,50 @@
+package ru.sfu.boot.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.transaction.PlatformTransactionManager;
+
+/**
+ * JDBC Data Source Configuration.
+ * Spring Boot skips the JDBC data source once an R2DBC connection factory
+ * exists, so with the reactive API on the classpath it is declared here,
+ * together with the JPA transaction manager used by default.
+ * @author Agapchenko V.V.
+ */
+@Configuration
+@EnableConfigurationProperties(DataSourceProperties.class)
+public class DataSourceConfig {
+
+    /**
+     * Pooled JDBC data source configured by 'spring.datasource.*'
+     * @param properties Data source properties
+     * @return Hikari data source
+     */
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource dataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+    }
+
+    /**
+     * JPA transaction manager, preferred over the reactive one
+     * @param entityManagerFactory Entity Manager Factory
+     * @return Transaction manager
+     */
+    @Bean
+    @Primary
+    public PlatformTransactionManager transactionManager(
+            EntityManagerFactory entityManagerFactory
+    ) {
+        return new JpaTransactionManager(entityManagerFactory);
+    }
+}
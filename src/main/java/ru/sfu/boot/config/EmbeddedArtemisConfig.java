@@ -0,0 +1,52 @@
+package ru.sfu.boot.config;
+
+import org.apache.activemq.artemis.core.server.JournalType;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jms.artemis.ArtemisConfigurationCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+/**
+ * Embedded ActiveMQ Artemis Configuration.
+ * Active with the 'embedded' profile: the broker runs inside the
+ * application and producers and listeners talk to it over the in-VM
+ * acceptor, without TCP or an external broker process.
+ * @author Agapchenko V.V.
+ */
+@Configuration
+@Profile("embedded")
+public class EmbeddedArtemisConfig {
+
+    /**
+     * Tune journal of the embedded broker
+     * @param type Journal type: MAPPED, NIO or ASYNCIO
+     * @param fileSize Journal file size in bytes
+     * @param minFiles Journal files created at startup
+     * @param poolFiles Journal files kept for reuse
+     * @param bufferTimeoutNanos Time writes are batched before flushing to disk
+     * @param syncTransactional Sync journal on transaction commit
+     * @param syncNonTransactional Sync journal on non-transactional send
+     * @return Artemis configuration customizer
+     */
+    @Bean
+    public ArtemisConfigurationCustomizer journalCustomizer(
+            @Value("${artemis.journal.type}") JournalType type,
+            @Value("${artemis.journal.file-size}") int fileSize,
+            @Value("${artemis.journal.min-files}") int minFiles,
+            @Value("${artemis.journal.pool-files}") int poolFiles,
+            @Value("${artemis.journal.buffer-timeout-ns}") int bufferTimeoutNanos,
+            @Value("${artemis.journal.sync-transactional}") boolean syncTransactional,
+            @Value("${artemis.journal.sync-non-transactional}") boolean syncNonTransactional
+    ) {
+        return configuration -> configuration
+                .setJournalType(type)
+                .setJournalFileSize(fileSize)
+                .setJournalMinFiles(minFiles)
+                .setJournalPoolFiles(poolFiles)
+                .setJournalBufferTimeout_NIO(bufferTimeoutNanos)
+                .setJournalBufferTimeout_AIO(bufferTimeoutNanos)
+                .setJournalSyncTransactional(syncTransactional)
+                .setJournalSyncNonTransactional(syncNonTransactional);
+    }
+}
@@ -0,0 +1,63 @@
+package ru.sfu.boot.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import ru.sfu.boot.entity.TelevisionJacksonModule;
+
+/**
+ * HTTP representations of the REST API: JSON plus binary CBOR and Smile,
+ * chosen by the Accept header. All of them share the Boot-configured
+ * mapper settings and the hand-written Television serializer.
+ * @author Agapchenko V.V.
+ */
+@Configuration
+public class HttpFormatsConfig {
+
+    /**
+     * Smile media type
+     */
+    public static final String APPLICATION_SMILE = "application/x-jackson-smile";
+
+    /**
+     * Television serializer and deserializer, registered by Spring Boot
+     * in every mapper it builds
+     * @return Jackson module
+     */
+    @Bean
+    public TelevisionJacksonModule televisionJacksonModule() {
+        return new TelevisionJacksonModule();
+    }
+
+    /**
+     * CBOR (RFC 8949) message converter
+     * @param builder Spring Boot mapper builder
+     * @return Message converter
+     */
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(
+            Jackson2ObjectMapperBuilder builder
+    ) {
+        return new MappingJackson2CborHttpMessageConverter(
+                builder.factory(new CBORFactory()).build()
+        );
+    }
+
+    /**
+     * Smile (binary JSON) message converter
+     * @param builder Spring Boot mapper builder
+     * @return Message converter
+     */
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(
+            Jackson2ObjectMapperBuilder builder
+    ) {
+        return new MappingJackson2SmileHttpMessageConverter(
+                builder.factory(new SmileFactory()).build()
+        );
+    }
+}
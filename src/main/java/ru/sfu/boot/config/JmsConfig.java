@@ -0,0 +1,59 @@
+package ru.sfu.boot.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.jms.ConnectionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jms.DefaultJmsListenerContainerFactoryConfigurer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jms.config.DefaultJmsListenerContainerFactory;
+import org.springframework.jms.support.converter.MappingJackson2MessageConverter;
+import org.springframework.jms.support.converter.MessageConverter;
+import org.springframework.jms.support.converter.MessageType;
+import ru.sfu.boot.service.AlertMessageConverter;
+
+/**
+ * Java Message Service Configuration
+ * @author Agapchenko V.V.
+ */
+@Configuration
+public class JmsConfig {
+
+    /**
+     * Listener container factory for topics (publish-subscribe)
+     * @param configurer Spring Boot listener factory configurer
+     * @param connectionFactory JMS Connection Factory
+     * @return Topic listener container factory
+     */
+    @Bean
+    public DefaultJmsListenerContainerFactory topicListenerFactory(
+            DefaultJmsListenerContainerFactoryConfigurer configurer,
+            ConnectionFactory connectionFactory
+    ) {
+        DefaultJmsListenerContainerFactory factory = new DefaultJmsListenerContainerFactory();
+        configurer.configure(factory, connectionFactory);
+        factory.setPubSubDomain(true);
+        return factory;
+    }
+
+    /**
+     * Alert message converter used by JMS Template and listeners
+     * @param codec 'binary' (compact, default) or 'json'
+     * @param mapper JSON Object Mapper
+     * @return Message converter
+     */
+    @Bean
+    public MessageConverter alertMessageConverter(
+            @Value("${alert.codec}") String codec,
+            ObjectMapper mapper
+    ) {
+        if ("json".equalsIgnoreCase(codec)) {
+            MappingJackson2MessageConverter converter = new MappingJackson2MessageConverter();
+            converter.setObjectMapper(mapper);
+            converter.setTargetType(MessageType.TEXT);
+            converter.setTypeIdPropertyName("_type");
+            return converter;
+        }
+        return new AlertMessageConverter();
+    }
+}
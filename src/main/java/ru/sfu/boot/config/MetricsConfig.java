@@ -0,0 +1,53 @@
+package ru.sfu.boot.config;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import ru.sfu.boot.repository.AlertOutboxRepository;
+import ru.sfu.boot.service.TelevisionCache;
+
+/**
+ * Micrometer gauges and counters over existing in-memory state.
+ * Meters read counters on scrape, so nothing is added to the hot path.
+ * @author Agapchenko V.V.
+ */
+@Configuration
+public class MetricsConfig {
+
+    /**
+     * Television cache hits, misses and size
+     * @param cache Television Cache
+     * @return Meter binder
+     */
+    @Bean
+    public MeterBinder televisionCacheMetrics(TelevisionCache cache) {
+        return registry -> {
+            FunctionCounter.builder("tvs.cache.requests", cache, TelevisionCache::getHits)
+                    .description("Television cache lookups")
+                    .tag("result", "hit")
+                    .register(registry);
+            FunctionCounter.builder("tvs.cache.requests", cache, TelevisionCache::getMisses)
+                    .description("Television cache lookups")
+                    .tag("result", "miss")
+                    .register(registry);
+            Gauge.builder("tvs.cache.size", cache, TelevisionCache::getSize)
+                    .description("Cached Televisions")
+                    .register(registry);
+        };
+    }
+
+    /**
+     * Alerts committed but not yet relayed to Queue; counts the outbox
+     * rows on scrape, which stay few while the relay keeps up
+     * @param outbox Alert Outbox Repository
+     * @return Meter binder
+     */
+    @Bean
+    public MeterBinder alertBacklogMetrics(AlertOutboxRepository outbox) {
+        return registry -> Gauge.builder("alerts.outbox.pending", outbox, AlertOutboxRepository::count)
+                .description("Alerts in the outbox waiting to be relayed")
+                .register(registry);
+    }
+}
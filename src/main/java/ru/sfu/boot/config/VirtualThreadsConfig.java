@@ -0,0 +1,107 @@
+package ru.sfu.boot.config;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.jms.config.DefaultJmsListenerContainerFactory;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.concurrent.ConcurrentTaskScheduler;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Virtual Threads Configuration.
+ * Active with the 'virtual-threads' profile on JDK 21+: Tomcat requests,
+ * JMS listener containers, MVC async (streaming) work and scheduled
+ * tasks run on virtual threads. The JDK API is looked up reflectively,
+ * so the application is still compiled for Java 17.
+ * @author Agapchenko V.V.
+ */
+@Configuration
+@Profile("virtual-threads")
+public class VirtualThreadsConfig {
+
+    /**
+     * Run Tomcat requests on virtual threads
+     * @return Tomcat protocol handler customizer
+     */
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadTomcat() {
+        return protocolHandler -> protocolHandler.setExecutor(newExecutor("http-"));
+    }
+
+    /**
+     * Run MVC async (e.g. NDJSON streaming) work on virtual threads
+     * @return Application task executor
+     */
+    @Bean(name = "applicationTaskExecutor")
+    public AsyncTaskExecutor applicationTaskExecutor() {
+        return new TaskExecutorAdapter(newExecutor("task-"));
+    }
+
+    /**
+     * Run scheduled tasks (outbox relay) on virtual threads
+     * @return Task scheduler
+     */
+    @Bean
+    public TaskScheduler taskScheduler() {
+        return new ConcurrentTaskScheduler(
+                Executors.newSingleThreadScheduledExecutor(threadFactory("scheduling-"))
+        );
+    }
+
+    /**
+     * Run consumers of every JMS listener container on virtual threads
+     * @return Bean post processor
+     */
+    @Bean
+    public static BeanPostProcessor virtualThreadJmsListeners() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DefaultJmsListenerContainerFactory factory) {
+                    factory.setTaskExecutor(new TaskExecutorAdapter(newExecutor("jms-")));
+                }
+                return bean;
+            }
+        };
+    }
+
+    /**
+     * Create executor starting a new virtual thread per task
+     * @param prefix Thread name prefix
+     * @return Executor service
+     */
+    static ExecutorService newExecutor(String prefix) {
+        try {
+            return (ExecutorService) Executors.class
+                    .getMethod("newThreadPerTaskExecutor", ThreadFactory.class)
+                    .invoke(null, threadFactory(prefix));
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Virtual threads require JDK 21+", e);
+        }
+    }
+
+    /**
+     * Create factory of named virtual threads
+     * @param prefix Thread name prefix
+     * @return Thread factory
+     */
+    static ThreadFactory threadFactory(String prefix) {
+        try {
+            Class<?> builder = Class.forName("java.lang.Thread$Builder");
+            Object ofVirtual = Thread.class.getMethod("ofVirtual").invoke(null);
+            Object named = builder.getMethod("name", String.class, long.class)
+                    .invoke(ofVirtual, prefix, 0L);
+            return (ThreadFactory) builder.getMethod("factory").invoke(named);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Virtual threads require JDK 21+", e);
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package ru.sfu.boot.controller;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import ru.sfu.boot.entity.Television;
+import ru.sfu.boot.service.ReactiveTelevisionService;
+
+/**
+ * Non-blocking Television API.
+ * Results are streamed from R2DBC with backpressure: rows are fetched
+ * only as fast as the client reads them.
+ * @author Agapchenko V.V.
+ */
+@Controller
+@RequestMapping("/reactive/tvs")
+public class ReactiveTelevisionController {
+
+    private final ReactiveTelevisionService service;
+
+    /**
+     * Constructor
+     * @param service Reactive Television Service
+     */
+    @Autowired
+    public ReactiveTelevisionController(ReactiveTelevisionService service) {
+        this.service = service;
+    }
+
+    /**
+     * GET Not Sold Televisions as newline-delimited JSON stream
+     * @return Televisions NDJSON
+     */
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @ResponseBody
+    public Flux<Television> getTelevisions() {
+        return service.getNotSold();
+    }
+
+    /**
+     * GET Television in JSON format
+     * @param id Identification number
+     * @return Television JSON, 404 if absent or sold
+     */
+    @GetMapping(value = "/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
+    @ResponseBody
+    public Mono<Television> getTelevision(@PathVariable int id) {
+        return service.getById(id).switchIfEmpty(Mono.error(
+                new ResponseStatusException(HttpStatus.NOT_FOUND)
+        ));
+    }
+
+    /**
+     * GET Televisions by Width + Height as newline-delimited JSON stream
+     * @param width Width parameter
+     * @param height Height parameter
+     * @return Televisions NDJSON
+     */
+    @GetMapping(value = "/{width}/{height}", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @ResponseBody
+    public Flux<Television> getByWidthAndHeight(
+            @PathVariable int width,
+            @PathVariable int height
+    ) {
+        return service.getByWidthAndHeight(width, height);
+    }
+
+    /**
+     * POST Purchase Television
+     * @param id Identification number
+     * @return Empty, 409 if already sold or absent
+     */
+    @PostMapping("/{id}/purchase")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    @ResponseBody
+    public Mono<Void> purchaseTelevision(@PathVariable int id) {
+        return service.sell(id).flatMap(sold -> sold
+                ? Mono.<Void>empty()
+                : Mono.error(new ResponseStatusException(
+                        HttpStatus.CONFLICT,
+                        "Television " + id + " is already sold or does not exist"
+                )));
+    }
+}
@@ -0,0 +1,61 @@
+package ru.sfu.boot.controller;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseBody;
+import ru.sfu.boot.service.AlertProducerStats;
+import ru.sfu.boot.service.TelevisionCache;
+
+import java.util.Map;
+
+/**
+ * Runtime statistics controller
+ * @author Agapchenko V.V.
+ */
+@Controller
+@RequestMapping("/stats")
+public class StatsController {
+
+    private final TelevisionCache cache;
+    private final AlertProducerStats alerts;
+
+    /**
+     * Constructor
+     * @param cache Television Cache
+     * @param alerts Alert Producer Statistics
+     */
+    @Autowired
+    public StatsController(TelevisionCache cache, AlertProducerStats alerts) {
+        this.cache = cache;
+        this.alerts = alerts;
+    }
+
+    /**
+     * GET Television cache statistics in JSON format
+     * @return Hits, misses and size
+     */
+    @GetMapping(value = "/cache", headers = "Accept=application/json")
+    @ResponseBody
+    public Map<String, Long> cacheStats() {
+        return Map.of(
+                "hits", cache.getHits(),
+                "misses", cache.getMisses(),
+                "size", (long) cache.getSize()
+        );
+    }
+
+    /**
+     * GET Alert producer statistics in JSON format
+     * @return Send latency (microseconds) and batch size distributions
+     */
+    @GetMapping(value = "/alerts", headers = "Accept=application/json")
+    @ResponseBody
+    public Map<String, Map<String, Long>> alertStats() {
+        return Map.of(
+                "latencyMicros", alerts.getLatencyMicros(),
+                "batchSize", alerts.getBatchSize()
+        );
+    }
+}
@@ -0,0 +1,144 @@
+package ru.sfu.boot.controller;
+
+import jakarta.servlet.ServletContext;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.thymeleaf.ITemplateEngine;
+import org.thymeleaf.context.WebContext;
+import org.thymeleaf.web.IWebExchange;
+import org.thymeleaf.web.servlet.JakartaServletWebApplication;
+import ru.sfu.boot.entity.Television;
+import ru.sfu.boot.service.TelevisionService;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Renders the Televisions page while rows are still being fetched.
+ * The page skeleton is rendered once and split where the rows go;
+ * rows are then fetched page by page and rendered as chunks of the
+ * 'rows' fragment, each flushed through a bounded buffer.
+ * @author Agapchenko V.V.
+ */
+@Component
+public class StreamingPageRenderer {
+
+    private static final String TEMPLATE = "tvs/stream";
+    private static final String ROWS_MARKER = "<!--rows-->";
+
+    private final ITemplateEngine engine;
+    private final JakartaServletWebApplication application;
+    private final TelevisionService service;
+    private final int chunkSize;
+    private final int bufferSize;
+
+    /**
+     * Constructor
+     * @param engine Template Engine
+     * @param servletContext Servlet Context
+     * @param service Television Service
+     * @param chunkSize Number of Televisions fetched and rendered per chunk
+     * @param bufferSize Size of output buffer in characters
+     */
+    @Autowired
+    public StreamingPageRenderer(
+            ITemplateEngine engine,
+            ServletContext servletContext,
+            TelevisionService service,
+            @Value("${tvs.stream.html-chunk-size}") int chunkSize,
+            @Value("${tvs.stream.html-buffer-size}") int bufferSize
+    ) {
+        this.engine = engine;
+        this.application = JakartaServletWebApplication.buildApplication(servletContext);
+        this.service = service;
+        this.chunkSize = chunkSize;
+        this.bufferSize = bufferSize;
+    }
+
+    /**
+     * Render Not Sold Televisions after given ID
+     * @param after Cursor: ID after which rendering starts
+     * @param request HTTP Request Servlet
+     * @param response HTTP Response Servlet
+     * @return Streamed HTML page
+     */
+    public StreamingResponseBody render(
+            int after,
+            HttpServletRequest request,
+            HttpServletResponse response
+    ) {
+        IWebExchange exchange = application.buildExchange(request, response);
+        Locale locale = request.getLocale();
+        return out -> {
+            Writer writer = new BufferedWriter(
+                    new OutputStreamWriter(out, StandardCharsets.UTF_8),
+                    bufferSize
+            );
+            WebContext context = new WebContext(exchange, locale);
+            context.setVariable("rowsMarker", ROWS_MARKER);
+            context.setVariable("tvs", List.of());
+            context.setVariable("empty", false);
+            String skeleton = engine.process(TEMPLATE, context);
+            int split = skeleton.indexOf(ROWS_MARKER);
+            writer.write(skeleton, 0, split);
+            writer.flush();
+
+            List<Television> chunk = new ArrayList<>(chunkSize);
+            int[] rendered = {0};
+            try {
+                service.forEachNotSold(after, chunkSize, tv -> {
+                    chunk.add(tv);
+                    if (chunk.size() == chunkSize) {
+                        rendered[0] += renderRows(chunk, context, writer);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            rendered[0] += renderRows(chunk, context, writer);
+
+            if (rendered[0] == 0) {
+                context.setVariable("empty", true);
+                engine.process(TEMPLATE, Set.of("empty"), context, writer);
+            }
+            writer.write(skeleton, split + ROWS_MARKER.length(),
+                    skeleton.length() - split - ROWS_MARKER.length());
+            writer.flush();
+        };
+    }
+
+    /**
+     * Render chunk of rows, flush and clear it
+     * @param chunk Televisions
+     * @param context Template context
+     * @param writer Output
+     * @return Number of rendered Televisions
+     */
+    private int renderRows(List<Television> chunk, WebContext context, Writer writer) {
+        int size = chunk.size();
+        if (size == 0) {
+            return 0;
+        }
+        context.setVariable("tvs", chunk);
+        engine.process(TEMPLATE, Set.of("rows"), context, writer);
+        chunk.clear();
+        try {
+            writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return size;
+    }
+}
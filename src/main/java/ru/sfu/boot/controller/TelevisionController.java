@@ -1,19 +1,43 @@
 package ru.sfu.boot.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import jakarta.persistence.EntityExistsException;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.validation.BeanPropertyBindingResult;
 import org.springframework.validation.BindException;
 import org.springframework.validation.BindingResult;
+import org.springframework.validation.beanvalidation.SpringValidatorAdapter;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ru.sfu.boot.config.HttpFormatsConfig;
+import ru.sfu.boot.entity.ResolutionRange;
 import ru.sfu.boot.entity.Television;
+import ru.sfu.boot.entity.TelevisionFacets;
+import ru.sfu.boot.entity.TelevisionVersion;
+import ru.sfu.boot.journal.AlertJournal;
 import ru.sfu.boot.service.TelevisionService;
 
+import java.io.BufferedOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.util.Collections;
 import java.util.List;
 
@@ -25,29 +49,93 @@ import java.util.List;
 @RequestMapping("/tvs")
 public class TelevisionController {
 
+    /**
+     * Response header carrying cursor of the next page
+     */
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    /**
+     * Newline-delimited JSON media type
+     */
+    static final String APPLICATION_NDJSON = "application/x-ndjson";
+    /**
+     * Accepted API representations: JSON first, so it wins for wildcards
+     */
+    static final String ACCEPT_JSON = "Accept=" + MediaType.APPLICATION_JSON_VALUE;
+    static final String ACCEPT_CBOR = "Accept=" + MediaType.APPLICATION_CBOR_VALUE;
+    static final String ACCEPT_SMILE = "Accept=" + HttpFormatsConfig.APPLICATION_SMILE;
+    private static final MediaType SMILE = MediaType.valueOf(HttpFormatsConfig.APPLICATION_SMILE);
+
     private final TelevisionService service;
+    /**
+     * Alert Journal, present with the 'embedded' profile only
+     */
+    private final ObjectProvider<AlertJournal> journal;
+    private final StreamingPageRenderer pageRenderer;
+    private final SpringValidatorAdapter validator;
+    private final ObjectWriter writer;
+    private final int defaultLimit;
+    private final int maxLimit;
+    private final int streamBatchSize;
 
     /**
      * Repository dependency injection for data access
      * @param service Television Service
+     * @param journal Alert Journal, if enabled
+     * @param pageRenderer Streaming HTML Page Renderer
+     * @param validator Bean Validator
+     * @param mapper JSON Object Mapper
+     * @param defaultLimit Page size used when no limit is requested
+     * @param maxLimit Maximum allowed page size
+     * @param streamBatchSize Page size fetched per query while streaming
      */
     @Autowired
-    public TelevisionController(TelevisionService service) {
+    public TelevisionController(
+            TelevisionService service,
+            ObjectProvider<AlertJournal> journal,
+            StreamingPageRenderer pageRenderer,
+            Validator validator,
+            ObjectMapper mapper,
+            @Value("${tvs.page.default-limit}") int defaultLimit,
+            @Value("${tvs.page.max-limit}") int maxLimit,
+            @Value("${tvs.stream.batch-size}") int streamBatchSize
+    ) {
         this.service = service;
+        this.journal = journal;
+        this.pageRenderer = pageRenderer;
+        this.validator = new SpringValidatorAdapter(validator);
+        this.writer = mapper.writerFor(Television.class)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        this.defaultLimit = defaultLimit;
+        this.maxLimit = maxLimit;
+        this.streamBatchSize = streamBatchSize;
     }
 
     // REST GET One/All Televisions
 
     /**
-     * REST GET Television in JSON format
+     * REST GET Television in JSON format.
+     * Answers 304 Not Modified by version, without loading the Television.
      * @param id Identification number
+     * @param request Web Request
+     * @param response HTTP Response Servlet
      * @return Television JSON
      */
-    @GetMapping(value = "/{id}", headers = "Accept=application/json")
+    @GetMapping(value = "/{id}", headers = {ACCEPT_JSON, ACCEPT_CBOR, ACCEPT_SMILE})
     @ResponseBody
     public Television getTelevisionJson(
-            @PathVariable int id
+            @PathVariable int id,
+            WebRequest request,
+            HttpServletResponse response
     ) {
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        TelevisionVersion version = service.getVersion(id);
+        if (version != null && request.checkNotModified(
+                etag(version, request),
+                modifiedMillis(version)
+        )) {
+            return null;
+        }
         return service.getById(id);
     }
 
@@ -72,26 +160,137 @@ public class TelevisionController {
     }
 
     /**
-     * REST GET Televisions in JSON format
+     * REST GET page of Televisions in JSON format.
+     * Answers 304 Not Modified by the versions of the page, without loading
+     * its Televisions. Last-Modified is the latest modification of a listed
+     * Television, so a Television sold or deleted off the page is told
+     * by the ETag only.
+     * @param after Cursor: ID of the last Television of the previous page
+     * @param limit Page size
+     * @param request Web Request
+     * @param response HTTP Response Servlet
      * @return Televisions JSON
      */
-    @GetMapping(headers = "Accept=application/json")
+    @GetMapping(headers = {ACCEPT_JSON, ACCEPT_CBOR, ACCEPT_SMILE})
     @ResponseBody
-    public List<Television> getTelevisionsJson() {
-        return service.getNotSold();
+    public List<Television> getTelevisionsJson(
+            @RequestParam(defaultValue = "-1") int after,
+            @RequestParam(required = false) Integer limit,
+            WebRequest request,
+            HttpServletResponse response
+    ) {
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        int size = pageSize(limit);
+        List<TelevisionVersion> versions = service.getNotSoldVersions(after, size);
+        if (request.checkNotModified(etag(versions, request), lastModifiedMillis(versions))) {
+            if (versions.size() == size) {
+                response.setHeader(NEXT_CURSOR_HEADER,
+                        String.valueOf(versions.get(versions.size() - 1).id()));
+            }
+            return null;
+        }
+
+        List<Television> tvs = service.getNotSold(after, size);
+        Integer next = nextCursor(tvs, size);
+        if (next != null) {
+            response.setHeader(NEXT_CURSOR_HEADER, String.valueOf(next));
+        }
+        return tvs;
+    }
+
+    /**
+     * REST GET all Televisions streamed as newline-delimited JSON
+     * @param after Cursor: ID after which streaming starts
+     * @return Streamed Televisions NDJSON
+     */
+    @GetMapping(headers = "Accept=" + APPLICATION_NDJSON)
+    public ResponseEntity<StreamingResponseBody> streamTelevisionsNdjson(
+            @RequestParam(defaultValue = "-1") int after
+    ) {
+        StreamingResponseBody body = out -> {
+            OutputStream buffered = new BufferedOutputStream(out);
+            try {
+                service.forEachNotSold(after, streamBatchSize, tv -> {
+                    try {
+                        writer.writeValue(buffered, tv);
+                        buffered.write('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            buffered.flush();
+        };
+        return ResponseEntity.ok()
+                .header("Content-Type", APPLICATION_NDJSON)
+                .body(body);
     }
 
     /**
-     * REST GET Televisions in HTML format
+     * REST GET page of Televisions in HTML format
+     * @param after Cursor: ID of the last Television of the previous page
+     * @param limit Page size
      * @param model Model object
      * @return Televisions HTML view
      */
     @GetMapping(headers = "Accept=text/html")
-    public String getTelevisionsHtml(Model model) {
-        model.addAttribute("tvs", service.getNotSold());
+    public String getTelevisionsHtml(
+            @RequestParam(defaultValue = "-1") int after,
+            @RequestParam(required = false) Integer limit,
+            Model model
+    ) {
+        int size = pageSize(limit);
+        List<Television> tvs = service.getNotSold(after, size);
+        model.addAttribute("tvs", tvs);
+        model.addAttribute("next", nextCursor(tvs, size));
+        model.addAttribute("limit", size);
         return "tvs/show";
     }
 
+    /**
+     * REST GET all Televisions in HTML format, flushed chunk by chunk
+     * while they are still being fetched
+     * @param after Cursor: ID after which rendering starts
+     * @param request HTTP Request Servlet
+     * @param response HTTP Response Servlet
+     * @return Streamed Televisions HTML
+     */
+    @GetMapping(params = "stream", headers = "Accept=text/html")
+    public ResponseEntity<StreamingResponseBody> streamTelevisionsHtml(
+            @RequestParam(defaultValue = "-1") int after,
+            HttpServletRequest request,
+            HttpServletResponse response
+    ) {
+        return ResponseEntity.ok()
+                .header("Content-Type", "text/html;charset=UTF-8")
+                .body(pageRenderer.render(after, request, response));
+    }
+
+    /**
+     * REST GET Television change history in JSON format.
+     * History is journaled only by the single-node 'embedded' profile.
+     * With any other profile the endpoint is disabled and answers
+     * 404 Not Found with a reason naming the profile; a Television
+     * without journaled Alerts has an empty history.
+     * @param id Identification number
+     * @return Journaled Alerts of Television, oldest first
+     * @throws ResponseStatusException 404 Not Found, journal disabled
+     */
+    @GetMapping(value = "/{id}/history", headers = {ACCEPT_JSON, ACCEPT_CBOR, ACCEPT_SMILE})
+    @ResponseBody
+    public List<AlertJournal.Entry> getTelevisionHistoryJson(
+            @PathVariable int id
+    ) {
+        AlertJournal history = journal.getIfAvailable();
+        if (history == null) {
+            throw new ResponseStatusException(
+                    HttpStatus.NOT_FOUND, "History is journaled with the 'embedded' profile only");
+        }
+        return history.history(id);
+    }
+
     // REST POST New Television
 
     /**
@@ -102,7 +301,7 @@ public class TelevisionController {
      * @return Television JSON
      * @throws BindException Validation error
      */
-    @PostMapping(headers = "Accept=application/json")
+    @PostMapping(headers = {ACCEPT_JSON, ACCEPT_CBOR, ACCEPT_SMILE})
     @ResponseStatus(HttpStatus.CREATED)
     public @ResponseBody Television postTelevisionJson(
             @Valid @RequestBody Television tv,
@@ -119,6 +318,28 @@ public class TelevisionController {
         return tv;
     }
 
+    /**
+     * REST POST New Televisions in bulk in JSON format.
+     * Televisions with taken IDs are skipped.
+     * @param tvs Televisions JSON array
+     * @return Created Televisions JSON
+     * @throws BindException Validation error
+     */
+    @PostMapping(value = "/batch", headers = {ACCEPT_JSON, ACCEPT_CBOR, ACCEPT_SMILE})
+    @ResponseStatus(HttpStatus.CREATED)
+    public @ResponseBody List<Television> postTelevisionsJson(
+            @RequestBody List<Television> tvs
+    ) throws BindException {
+        for (Television tv : tvs) {
+            BindingResult bindingResult = new BeanPropertyBindingResult(tv, "tv");
+            validator.validate(tv, bindingResult);
+            if (bindingResult.hasErrors()) {
+                throw new BindException(bindingResult);
+            }
+        }
+        return service.createAll(tvs);
+    }
+
     /**
      * REST POST New Television in HTML format
      * @param tv Television HTML
@@ -166,13 +387,17 @@ public class TelevisionController {
     // REST PUT Television
 
     /**
-     * REST PUT Television in JSON format
+     * REST PUT Television in JSON format.
+     * A body carrying the version it was read at is applied only if
+     * the Television has not changed since; without a version it is
+     * applied whatever the current version. Either way a sold or deleted
+     * Television answers 409 Conflict.
      * @param id Identification number
      * @param tv Television JSON
      * @param bindingResult Validation result
      * @throws BindException Validation error
      */
-    @PutMapping(value = "/{id}", headers = "Accept=application/json")
+    @PutMapping(value = "/{id}", headers = {ACCEPT_JSON, ACCEPT_CBOR, ACCEPT_SMILE})
     @ResponseStatus(HttpStatus.NO_CONTENT)
     public void putTelevisionJson(
             @PathVariable int id,
@@ -183,7 +408,9 @@ public class TelevisionController {
             throw new BindException(bindingResult);
         }
 
-        service.update(tv);
+        if (!service.update(tv)) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, conflict(tv));
+        }
     }
 
     /**
@@ -203,7 +430,9 @@ public class TelevisionController {
         if (bindingResult.hasErrors())
             return "tvs/edit";
 
-        service.update(tv);
+        if (!service.update(tv)) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, conflict(tv));
+        }
         return "redirect:/tvs";
     }
 
@@ -213,7 +442,7 @@ public class TelevisionController {
      * REST DELETE Television JSON
      * @param id Identification Number
      */
-    @DeleteMapping(value = "/{id}", headers = "Accept=application/json")
+    @DeleteMapping(value = "/{id}", headers = {ACCEPT_JSON, ACCEPT_CBOR, ACCEPT_SMILE})
     @ResponseStatus(HttpStatus.NO_CONTENT)
     public void deleteTelevisionJson(
             @PathVariable int id
@@ -243,7 +472,7 @@ public class TelevisionController {
      * @param height Height parameter
      * @return Television JSON
      */
-    @GetMapping(value = "/{width}/{height}", headers = "Accept=application/json")
+    @GetMapping(value = "/{width}/{height}", headers = {ACCEPT_JSON, ACCEPT_CBOR, ACCEPT_SMILE})
     @ResponseBody
     public List<Television> getByWidthAndHeightJson(
             @PathVariable int width,
@@ -272,16 +501,130 @@ public class TelevisionController {
         return "tvs/show";
     }
 
+    // REST GET Televisions By Resolution Range
+
+    /**
+     * REST GET page of Televisions JSON by resolution range
+     * @param minWidth Minimum width
+     * @param maxWidth Maximum width
+     * @param minHeight Minimum height
+     * @param maxHeight Maximum height
+     * @param aspect Aspect ratio, e.g. 16:9
+     * @param after Cursor: ID of the last Television of the previous page
+     * @param limit Page size
+     * @param response HTTP Response Servlet
+     * @return Televisions JSON
+     */
+    @GetMapping(value = "/range", headers = {ACCEPT_JSON, ACCEPT_CBOR, ACCEPT_SMILE})
+    @ResponseBody
+    public List<Television> getByResolutionRangeJson(
+            @RequestParam(required = false) Integer minWidth,
+            @RequestParam(required = false) Integer maxWidth,
+            @RequestParam(required = false) Integer minHeight,
+            @RequestParam(required = false) Integer maxHeight,
+            @RequestParam(required = false) String aspect,
+            @RequestParam(defaultValue = "-1") int after,
+            @RequestParam(required = false) Integer limit,
+            HttpServletResponse response
+    ) {
+        int size = pageSize(limit);
+        List<Television> tvs = service.getNotSoldInRange(
+                range(minWidth, maxWidth, minHeight, maxHeight, aspect), after, size
+        );
+        Integer next = nextCursor(tvs, size);
+        if (next != null) {
+            response.setHeader(NEXT_CURSOR_HEADER, String.valueOf(next));
+        }
+        return tvs;
+    }
+
+    /**
+     * REST GET page of Televisions HTML by resolution range
+     * @param minWidth Minimum width
+     * @param maxWidth Maximum width
+     * @param minHeight Minimum height
+     * @param maxHeight Maximum height
+     * @param aspect Aspect ratio, e.g. 16:9
+     * @param after Cursor: ID of the last Television of the previous page
+     * @param limit Page size
+     * @param model Model object
+     * @return Televisions HTML view
+     */
+    @GetMapping(value = "/range", headers = "Accept=text/html")
+    public String getByResolutionRangeHtml(
+            @RequestParam(required = false) Integer minWidth,
+            @RequestParam(required = false) Integer maxWidth,
+            @RequestParam(required = false) Integer minHeight,
+            @RequestParam(required = false) Integer maxHeight,
+            @RequestParam(required = false) String aspect,
+            @RequestParam(defaultValue = "-1") int after,
+            @RequestParam(required = false) Integer limit,
+            Model model
+    ) {
+        model.addAttribute("tvs", service.getNotSoldInRange(
+                range(minWidth, maxWidth, minHeight, maxHeight, aspect), after, pageSize(limit)
+        ));
+        return "tvs/show";
+    }
+
+    // REST GET Television Facets
+
+    /**
+     * REST GET counts of Not Sold Televisions by producer, production
+     * country and resolution in JSON format
+     * @return Television facets JSON
+     */
+    @GetMapping(value = "/facets", headers = {ACCEPT_JSON, ACCEPT_CBOR, ACCEPT_SMILE})
+    @ResponseBody
+    public TelevisionFacets getFacetsJson() {
+        return service.getFacets();
+    }
+
+    // REST GET Television Search
+
+    /**
+     * REST GET Televisions JSON by model or producer
+     * @param q Search query, typos tolerated
+     * @param limit Maximum number of results
+     * @return Televisions JSON, most relevant first
+     */
+    @GetMapping(value = "/search", headers = {ACCEPT_JSON, ACCEPT_CBOR, ACCEPT_SMILE})
+    @ResponseBody
+    public List<Television> searchJson(
+            @RequestParam String q,
+            @RequestParam(required = false) Integer limit
+    ) {
+        return service.search(q, pageSize(limit));
+    }
+
+    /**
+     * REST GET Televisions HTML by model or producer
+     * @param q Search query, typos tolerated
+     * @param limit Maximum number of results
+     * @param model Model object
+     * @return Televisions HTML view
+     */
+    @GetMapping(value = "/search", headers = "Accept=text/html")
+    public String searchHtml(
+            @RequestParam String q,
+            @RequestParam(required = false) Integer limit,
+            Model model
+    ) {
+        model.addAttribute("tvs", service.search(q, pageSize(limit)));
+        return "tvs/show";
+    }
+
     // NON REST
 
     /**
-     * GET New Television Form
+     * GET New Television Form.
+     * The form carries ID 0, so an ID is allocated only when it is submitted
      * @param model Model object
      * @return Television Form view
      */
     @GetMapping(value = "/new")
     public String newTelevision(Model model) {
-        model.addAttribute("tv", new Television(service.getLastId()));
+        model.addAttribute("tv", new Television());
         return "tvs/new";
     }
 
@@ -305,20 +648,33 @@ public class TelevisionController {
     }
 
     /**
-     * POST Update Television
+     * POST Update Television.
+     * When the Television was changed, sold or deleted since the form
+     * was read, the form is shown again with an error
+     * @param id Identification number
      * @param tv Television
      * @param bindingResult Validation result
+     * @param model Model object
      * @return Redirect to Televisions view
      */
     @PostMapping(value = "/{id}/update")
     public String updateTelevision(
+            @PathVariable int id,
             @ModelAttribute("tv") @Valid Television tv,
-            BindingResult bindingResult
+            BindingResult bindingResult,
+            Model model
     ) {
+        model.addAttribute("id", id);
         if (bindingResult.hasErrors())
             return "tvs/edit";
 
-        service.update(tv);
+        if (!service.update(tv)) {
+            bindingResult.reject(
+                    "conflict",
+                    "Television was changed, sold or deleted by someone else, reload it and try again"
+            );
+            return "tvs/edit";
+        }
         return "redirect:/tvs";
     }
 
@@ -361,6 +717,16 @@ public class TelevisionController {
         return String.format("redirect:/tvs/%d/%d", width, height);
     }
 
+    /**
+     * REST POST Purchase Television in JSON format
+     * @param id Identification number
+     */
+    @PostMapping(value = "/{id}/purchase", headers = {ACCEPT_JSON, ACCEPT_CBOR, ACCEPT_SMILE})
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void purchaseTelevisionJson(@PathVariable int id) {
+        sellOrConflict(id);
+    }
+
     /**
      * POST Purchase Television
      * @param id Identification number
@@ -368,7 +734,7 @@ public class TelevisionController {
      */
     @PostMapping("/{id}/purchase")
     public String purchaseTelevision(@PathVariable int id) {
-        service.sell(id);
+        sellOrConflict(id);
         return "redirect:/tvs";
     }
 
@@ -380,4 +746,153 @@ public class TelevisionController {
     public String menu() {
         return "tvs/menu";
     }
+
+    /**
+     * Sell Television or reject the purchase
+     * @param id Identification number
+     * @throws ResponseStatusException 409 if Television is already sold or absent
+     */
+    private void sellOrConflict(int id) {
+        if (!service.sell(id)) {
+            throw new ResponseStatusException(
+                    HttpStatus.CONFLICT,
+                    "Television " + id + " is already sold or does not exist"
+            );
+        }
+    }
+
+    /**
+     * Reason of a failed update
+     * @param tv Television sent, with or without a version
+     * @return Conflict message
+     */
+    private static String conflict(Television tv) {
+        if (tv.getVersion() == Television.ANY_VERSION)
+            return "Television " + tv.getId() + " is sold or does not exist";
+        return "Television " + tv.getId() + " was changed, sold or deleted since it was read";
+    }
+
+    /**
+     * Build resolution range from request parameters
+     * @param minWidth Minimum width or null
+     * @param maxWidth Maximum width or null
+     * @param minHeight Minimum height or null
+     * @param maxHeight Maximum height or null
+     * @param aspect Aspect ratio or null
+     * @return Resolution range
+     * @throws ResponseStatusException 400 if aspect ratio is malformed
+     */
+    private static ResolutionRange range(
+            Integer minWidth,
+            Integer maxWidth,
+            Integer minHeight,
+            Integer maxHeight,
+            String aspect
+    ) {
+        try {
+            return ResolutionRange.of(minWidth, maxWidth, minHeight, maxHeight, aspect);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
+    /**
+     * Clamp requested page size
+     * @param limit Requested page size or null
+     * @return Page size within [1, max limit]
+     */
+    private int pageSize(Integer limit) {
+        if (limit == null)
+            return defaultLimit;
+        return Math.max(1, Math.min(limit, maxLimit));
+    }
+
+    /**
+     * Get cursor of the next page
+     * @param page Current page
+     * @param size Requested page size
+     * @return ID of the last Television or null if page is the last one
+     */
+    private static Integer nextCursor(List<Television> page, int size) {
+        if (page.size() < size)
+            return null;
+        return page.get(page.size() - 1).getId();
+    }
+
+    /**
+     * Strong entity tag of one Television in the requested representation.
+     * Modification time tells apart a deleted and re-created Television
+     * that starts over with the same version.
+     * @param version Television version
+     * @param request Web Request
+     * @return Quoted entity tag
+     */
+    private static String etag(TelevisionVersion version, WebRequest request) {
+        return "\"" + version.version() + "-" + Long.toHexString(modifiedMillis(version))
+                + "-" + representation(request) + "\"";
+    }
+
+    /**
+     * Strong entity tag of a page of Televisions in the requested
+     * representation, hashed from the IDs and versions of its rows
+     * @param versions Television versions
+     * @param request Web Request
+     * @return Quoted entity tag
+     */
+    private static String etag(List<TelevisionVersion> versions, WebRequest request) {
+        long hash = 1125899906842597L;
+        for (TelevisionVersion version : versions) {
+            hash = 31 * hash + version.id();
+            hash = 31 * hash + version.version();
+            hash = 31 * hash + modifiedMillis(version);
+        }
+        return "\"" + versions.size() + "-" + Long.toHexString(hash)
+                + "-" + representation(request) + "\"";
+    }
+
+    /**
+     * Representation the Accept header selects, the same one the message
+     * converters write: a strong entity tag must differ between byte-wise
+     * different bodies
+     * @param request Web Request
+     * @return 'json', 'cbor' or 'smile'
+     */
+    private static String representation(WebRequest request) {
+        List<MediaType> accepted = MediaType.parseMediaTypes(request.getHeader(HttpHeaders.ACCEPT));
+        MimeTypeUtils.sortBySpecificity(accepted);
+        for (MediaType type : accepted) {
+            if (type.isCompatibleWith(MediaType.APPLICATION_JSON)) {
+                return "json";
+            }
+            if (type.isCompatibleWith(MediaType.APPLICATION_CBOR)) {
+                return "cbor";
+            }
+            if (type.isCompatibleWith(SMILE)) {
+                return "smile";
+            }
+        }
+        return "json";
+    }
+
+    /**
+     * Latest modification time of a page of Televisions in milliseconds
+     * @param versions Television versions
+     * @return Epoch milliseconds or -1 if unknown
+     */
+    private static long lastModifiedMillis(List<TelevisionVersion> versions) {
+        long last = -1;
+        for (TelevisionVersion version : versions) {
+            last = Math.max(last, modifiedMillis(version));
+        }
+        return last;
+    }
+
+    /**
+     * Modification time of Television in milliseconds
+     * @param version Television version
+     * @return Epoch milliseconds or -1 if unknown
+     */
+    private static long modifiedMillis(TelevisionVersion version) {
+        return version.modifiedAt() == null ? -1 : version.modifiedAt().toEpochMilli();
+    }
 }
@@ -3,18 +3,43 @@ package ru.sfu.boot.entity;
 import java.io.Serializable;
 
 /**
- * Alert Message Entity
+ * Alert Message Entity.
+ * Carries the action, the Television ID and the fields set by the change;
+ * fields that were not changed are null.
  * @author Agapchenko V.V.
  */
 public class Alert implements Serializable {
     /**
      * Alert Action
      */
-    private String action;
+    public enum Action {
+        CREATE, UPDATE, DELETE, SELL, CREATE_BATCH
+    }
+
     /**
-     * Alert Body
+     * Television ID used by batch Alerts
      */
-    private String body;
+    public static final int NO_TELEVISION = -1;
+
+    /**
+     * Alert Action
+     */
+    private Action action;
+    /**
+     * Television Identification Number
+     */
+    private int televisionId = NO_TELEVISION;
+    /**
+     * Number of affected Televisions
+     */
+    private int count = 1;
+
+    private String model;
+    private String producer;
+    private String productionCountry;
+    private Integer width;
+    private Integer height;
+    private Boolean sold;
 
     /**
      * Default constructor
@@ -24,12 +49,39 @@ public class Alert implements Serializable {
     /**
      * Constructor with parameters
      * @param action Alert Action
-     * @param body Alert Body
+     * @param televisionId Television Identification Number
      */
-    public Alert(String action, String body) {
-        super();
+    public Alert(Action action, int televisionId) {
         this.action = action;
-        this.body = body;
+        this.televisionId = televisionId;
+    }
+
+    /**
+     * Create Alert carrying every field of Television
+     * @param action Alert Action
+     * @param tv Television
+     * @return Alert Message
+     */
+    public static Alert of(Action action, Television tv) {
+        Alert alert = new Alert(action, tv.getId());
+        alert.model = tv.getModel();
+        alert.producer = tv.getProducer();
+        alert.productionCountry = tv.getProductionCountry();
+        alert.width = tv.getWidth();
+        alert.height = tv.getHeight();
+        alert.sold = tv.isSold();
+        return alert;
+    }
+
+    /**
+     * Create summary Alert of bulk creation
+     * @param count Number of created Televisions
+     * @return Alert Message
+     */
+    public static Alert batch(int count) {
+        Alert alert = new Alert(Action.CREATE_BATCH, NO_TELEVISION);
+        alert.count = count;
+        return alert;
     }
 
     /**
@@ -38,38 +90,160 @@ public class Alert implements Serializable {
      */
     @Override
     public String toString() {
-        return String.format("Alert[action=%s, body=%s]", action, body);
+        StringBuilder sb = new StringBuilder(96)
+                .append("Alert[action=").append(action)
+                .append(", id=").append(televisionId);
+        if (count != 1) sb.append(", count=").append(count);
+        if (model != null) sb.append(", model=").append(model);
+        if (producer != null) sb.append(", producer=").append(producer);
+        if (productionCountry != null) sb.append(", country=").append(productionCountry);
+        if (width != null) sb.append(", width=").append(width);
+        if (height != null) sb.append(", height=").append(height);
+        if (sold != null) sb.append(", sold=").append(sold);
+        return sb.append(']').toString();
     }
 
     /**
      * Get Alert Action
      * @return Alert Action
      */
-    public String getAction() {
+    public Action getAction() {
         return action;
     }
 
     /**
-     * Get Alert Body
-     * @return Alert Body
+     * Get Television Identification Number
+     * @return Identification Number
+     */
+    public int getTelevisionId() {
+        return televisionId;
+    }
+
+    /**
+     * Get number of affected Televisions
+     * @return Televisions count
+     */
+    public int getCount() {
+        return count;
+    }
+
+    /**
+     * Get changed Television model
+     * @return Television model or null
+     */
+    public String getModel() {
+        return model;
+    }
+
+    /**
+     * Get changed Television manufacturer
+     * @return Television manufacturer or null
+     */
+    public String getProducer() {
+        return producer;
+    }
+
+    /**
+     * Get changed Country of manufacture
+     * @return Country of manufacture or null
+     */
+    public String getProductionCountry() {
+        return productionCountry;
+    }
+
+    /**
+     * Get changed Screen width
+     * @return Screen width or null
+     */
+    public Integer getWidth() {
+        return width;
+    }
+
+    /**
+     * Get changed Screen height
+     * @return Screen height or null
+     */
+    public Integer getHeight() {
+        return height;
+    }
+
+    /**
+     * Get changed Sold flag
+     * @return Sold or not, null if unchanged
      */
-    public String getBody() {
-        return body;
+    public Boolean getSold() {
+        return sold;
     }
 
     /**
      * Set Alert Action
      * @param action Alert Action
      */
-    public void setAction(String action) {
+    public void setAction(Action action) {
         this.action = action;
     }
 
     /**
-     * Set Alert Body
-     * @param body Alert Body
+     * Set Television Identification Number
+     * @param televisionId Identification Number
+     */
+    public void setTelevisionId(int televisionId) {
+        this.televisionId = televisionId;
+    }
+
+    /**
+     * Set number of affected Televisions
+     * @param count Televisions count
+     */
+    public void setCount(int count) {
+        this.count = count;
+    }
+
+    /**
+     * Set changed Television model
+     * @param model Television model
+     */
+    public void setModel(String model) {
+        this.model = model;
+    }
+
+    /**
+     * Set changed Television manufacturer
+     * @param producer Television manufacturer
+     */
+    public void setProducer(String producer) {
+        this.producer = producer;
+    }
+
+    /**
+     * Set changed Country of manufacture
+     * @param productionCountry Country of manufacture
+     */
+    public void setProductionCountry(String productionCountry) {
+        this.productionCountry = productionCountry;
+    }
+
+    /**
+     * Set changed Screen width
+     * @param width Screen width
+     */
+    public void setWidth(Integer width) {
+        this.width = width;
+    }
+
+    /**
+     * Set changed Screen height
+     * @param height Screen height
+     */
+    public void setHeight(Integer height) {
+        this.height = height;
+    }
+
+    /**
+     * Set changed Sold flag
+     * @param sold Sold or not
      */
-    public void setBody(String body) {
-        this.body = body;
+    public void setSold(Boolean sold) {
+        this.sold = sold;
     }
 }
@@ -0,0 +1,68 @@
+package ru.sfu.boot.entity;
+
+import jakarta.persistence.*;
+import ru.sfu.boot.service.AlertCodec;
+
+/**
+ * Alert waiting in the transactional outbox to be sent to Queue
+ * @author Agapchenko V.V.
+ */
+@Entity
+@Table(name="alert_outbox")
+public class OutboxAlert {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "television_id")
+    private int televisionId;
+
+    private byte[] payload;
+
+    /**
+     * Default constructor
+     */
+    public OutboxAlert() {}
+
+    /**
+     * Constructor from Alert
+     * @param alert Alert Message
+     */
+    public OutboxAlert(Alert alert) {
+        this.televisionId = alert.getTelevisionId();
+        this.payload = AlertCodec.toBytes(alert);
+    }
+
+    /**
+     * Convert back to Alert
+     * @return Alert Message
+     */
+    public Alert toAlert() {
+        return AlertCodec.decode(payload);
+    }
+
+    /**
+     * Identification Number getter
+     * @return Identification Number
+     */
+    public Long getId() {
+        return id;
+    }
+
+    /**
+     * Television Identification Number getter
+     * @return Television Identification Number
+     */
+    public int getTelevisionId() {
+        return televisionId;
+    }
+
+    /**
+     * Encoded Alert getter
+     * @return Alert encoded with {@link AlertCodec}
+     */
+    public byte[] getPayload() {
+        return payload;
+    }
+}
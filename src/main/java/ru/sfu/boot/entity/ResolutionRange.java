@@ -0,0 +1,81 @@
+package ru.sfu.boot.entity;
+
+/**
+ * Range of screen resolutions: bounds of Width and Height, all inclusive,
+ * and an optional aspect ratio matched within 1%
+ * @param minWidth Minimum width
+ * @param maxWidth Maximum width
+ * @param minHeight Minimum height
+ * @param maxHeight Maximum height
+ * @param aspectWidth Width part of aspect ratio, 0 - any ratio
+ * @param aspectHeight Height part of aspect ratio, 0 - any ratio
+ * @author Agapchenko V.V.
+ */
+public record ResolutionRange(
+        int minWidth,
+        int maxWidth,
+        int minHeight,
+        int maxHeight,
+        int aspectWidth,
+        int aspectHeight
+) {
+
+    /**
+     * Build range from optional bounds
+     * @param minWidth Minimum width or null
+     * @param maxWidth Maximum width or null
+     * @param minHeight Minimum height or null
+     * @param maxHeight Maximum height or null
+     * @param aspect Aspect ratio as 'width:height' or null
+     * @return Resolution range
+     * @throws IllegalArgumentException if aspect ratio is malformed
+     */
+    public static ResolutionRange of(
+            Integer minWidth,
+            Integer maxWidth,
+            Integer minHeight,
+            Integer maxHeight,
+            String aspect
+    ) {
+        int aspectWidth = 0;
+        int aspectHeight = 0;
+        if (aspect != null && !aspect.isBlank()) {
+            String[] parts = aspect.split(":");
+            if (parts.length == 2) {
+                try {
+                    aspectWidth = Integer.parseInt(parts[0].trim());
+                    aspectHeight = Integer.parseInt(parts[1].trim());
+                } catch (NumberFormatException ignored) {
+                    // Reported below
+                }
+            }
+            if (aspectWidth <= 0 || aspectHeight <= 0) {
+                throw new IllegalArgumentException(
+                        "Aspect ratio must look like 16:9, got " + aspect
+                );
+            }
+        }
+        return new ResolutionRange(
+                minWidth == null ? 0 : minWidth,
+                maxWidth == null ? Integer.MAX_VALUE : maxWidth,
+                minHeight == null ? 0 : minHeight,
+                maxHeight == null ? Integer.MAX_VALUE : maxHeight,
+                aspectWidth,
+                aspectHeight
+        );
+    }
+
+    /**
+     * Does resolution fall into range?
+     * @param width Screen width
+     * @param height Screen height
+     * @return True - inside, false - outside
+     */
+    public boolean contains(int width, int height) {
+        if (width < minWidth || width > maxWidth || height < minHeight || height > maxHeight)
+            return false;
+        // |width / height - aspect| within 1% of aspect, in integers
+        long expected = (long) height * aspectWidth;
+        return Math.abs((long) width * aspectHeight - expected) * 100 <= expected;
+    }
+}
@@ -6,6 +6,8 @@ import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
 
+import java.time.Instant;
+
 /**
  * Television Persistence Entity
  * @author Agapchenko V.V.
@@ -14,6 +16,12 @@ import jakarta.validation.constraints.NotNull;
 @Table(name="televisions")
 public class Television {
 
+    /**
+     * Version of a Television sent without one: it is updated
+     * unconditionally, whatever its current version
+     */
+    public static final int ANY_VERSION = -1;
+
     @Id
     @NotNull
     @Min(value = 0)
@@ -40,6 +48,15 @@ public class Television {
 
     private boolean sold = false;
 
+    /**
+     * Incremented by every change of the row
+     */
+    @Version
+    private int version;
+
+    @Column(name = "modified_at")
+    private Instant modifiedAt;
+
     /**
      * Default constructor
      */
@@ -134,6 +151,22 @@ public class Television {
         return sold;
     }
 
+    /**
+     * Version getter
+     * @return Row version
+     */
+    public int getVersion() {
+        return version;
+    }
+
+    /**
+     * Last modification time getter
+     * @return Last modification time
+     */
+    public Instant getModifiedAt() {
+        return modifiedAt;
+    }
+
     /**
      * Identification Number setter
      * @param id Identification number
@@ -190,6 +223,43 @@ public class Television {
         this.sold = sold;
     }
 
+    /**
+     * Version setter
+     * @param version Row version
+     */
+    public void setVersion(int version) {
+        this.version = version;
+    }
+
+    /**
+     * Last modification time setter
+     * @param modifiedAt Last modification time
+     */
+    public void setModifiedAt(Instant modifiedAt) {
+        this.modifiedAt = modifiedAt;
+    }
+
+    /**
+     * Copy all fields into a new detached Television
+     * @return Copy
+     */
+    public Television copy() {
+        Television copy = new Television(id, model, producer, productionCountry, width, height);
+        copy.sold = sold;
+        copy.version = version;
+        copy.modifiedAt = modifiedAt;
+        return copy;
+    }
+
+    /**
+     * Stamp modification time on every insert and update
+     */
+    @PrePersist
+    @PreUpdate
+    void touch() {
+        modifiedAt = Instant.now();
+    }
+
     /**
      * Represent Television as a String
      * @return String representing Object
@@ -0,0 +1,18 @@
+package ru.sfu.boot.entity;
+
+import java.util.Map;
+
+/**
+ * Counts of Not Sold Televisions by facet value
+ * @param total Number of Not Sold Televisions
+ * @param producers Counts by producer
+ * @param countries Counts by production country; unknown ones are only in total
+ * @param resolutions Counts by 'width x height'
+ * @author Agapchenko V.V.
+ */
+public record TelevisionFacets(
+        long total,
+        Map<String, Long> producers,
+        Map<String, Long> countries,
+        Map<String, Long> resolutions
+) {}
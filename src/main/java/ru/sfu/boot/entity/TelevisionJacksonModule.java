@@ -0,0 +1,254 @@
+package ru.sfu.boot.entity;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Jackson module with a hand-written Television serializer and
+ * deserializer. Fields are written and read in a fixed order without
+ * bean introspection or reflective access, for JSON and for binary
+ * formats (CBOR, Smile) alike. Field names and ISO-8601 timestamps match
+ * the reflective representation.
+ * @author Agapchenko V.V.
+ */
+public class TelevisionJacksonModule extends SimpleModule {
+
+    private static final SerializedString ID = new SerializedString("id");
+    private static final SerializedString MODEL = new SerializedString("model");
+    private static final SerializedString PRODUCER = new SerializedString("producer");
+    private static final SerializedString PRODUCTION_COUNTRY = new SerializedString("productionCountry");
+    private static final SerializedString WIDTH = new SerializedString("width");
+    private static final SerializedString HEIGHT = new SerializedString("height");
+    private static final SerializedString SOLD = new SerializedString("sold");
+    private static final SerializedString VERSION = new SerializedString("version");
+    private static final SerializedString MODIFIED_AT = new SerializedString("modifiedAt");
+
+    /**
+     * Constructor
+     */
+    public TelevisionJacksonModule() {
+        super("TelevisionJacksonModule");
+        addSerializer(Television.class, new Serializer());
+        addDeserializer(Television.class, new Deserializer());
+    }
+
+    /**
+     * Television serializer
+     */
+    static final class Serializer extends StdSerializer<Television> {
+
+        Serializer() {
+            super(Television.class);
+        }
+
+        /**
+         * Write Television fields in declaration order
+         * @param tv Television
+         * @param gen Generator of any format
+         * @param provider Serializer provider
+         * @throws IOException On output failure
+         */
+        @Override
+        public void serialize(Television tv, JsonGenerator gen, SerializerProvider provider)
+                throws IOException {
+            gen.writeStartObject(tv, 9);
+            gen.writeFieldName(ID);
+            writeInteger(gen, tv.getId());
+            gen.writeFieldName(MODEL);
+            gen.writeString(tv.getModel());
+            gen.writeFieldName(PRODUCER);
+            gen.writeString(tv.getProducer());
+            gen.writeFieldName(PRODUCTION_COUNTRY);
+            gen.writeString(tv.getProductionCountry());
+            gen.writeFieldName(WIDTH);
+            writeInteger(gen, tv.getWidth());
+            gen.writeFieldName(HEIGHT);
+            writeInteger(gen, tv.getHeight());
+            gen.writeFieldName(SOLD);
+            gen.writeBoolean(tv.isSold());
+            gen.writeFieldName(VERSION);
+            gen.writeNumber(tv.getVersion());
+            gen.writeFieldName(MODIFIED_AT);
+            Instant modifiedAt = tv.getModifiedAt();
+            gen.writeString(modifiedAt == null ? null : modifiedAt.toString());
+            gen.writeEndObject();
+        }
+
+        /**
+         * Write nullable integer
+         * @param gen Generator
+         * @param value Value or null
+         * @throws IOException On output failure
+         */
+        private static void writeInteger(JsonGenerator gen, Integer value) throws IOException {
+            if (value == null) {
+                gen.writeNull();
+            } else {
+                gen.writeNumber(value);
+            }
+        }
+    }
+
+    /**
+     * Television deserializer; unknown fields follow
+     * DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, a missing version
+     * is read as {@link Television#ANY_VERSION}.
+     * Known fields take only their own token types: numbers are integral,
+     * text is a string, and objects or arrays are rejected, instead of
+     * being coerced the way JsonParser.getValueAs*() does.
+     */
+    static final class Deserializer extends StdDeserializer<Television> {
+
+        Deserializer() {
+            super(Television.class);
+        }
+
+        /**
+         * Read Television fields in any order
+         * @param p Parser of any format
+         * @param ctxt Deserialization context
+         * @return Television
+         * @throws IOException On malformed input
+         */
+        @Override
+        public Television deserialize(JsonParser p, DeserializationContext ctxt)
+                throws IOException {
+            String name;
+            if (p.isExpectedStartObjectToken()) {
+                name = p.nextFieldName();
+            } else if (p.currentToken() == JsonToken.FIELD_NAME) {
+                name = p.currentName();
+            } else {
+                return (Television) ctxt.handleUnexpectedToken(Television.class, p);
+            }
+
+            Television tv = new Television();
+            tv.setVersion(Television.ANY_VERSION);
+            for (; name != null; name = p.nextFieldName()) {
+                JsonToken token = p.nextToken();
+                switch (name) {
+                    case "id" -> tv.setId(readInteger(p, ctxt, token, name));
+                    case "model" -> tv.setModel(readString(p, ctxt, token, name));
+                    case "producer" -> tv.setProducer(readString(p, ctxt, token, name));
+                    case "productionCountry" -> tv.setProductionCountry(readString(p, ctxt, token, name));
+                    case "width" -> tv.setWidth(readInteger(p, ctxt, token, name));
+                    case "height" -> tv.setHeight(readInteger(p, ctxt, token, name));
+                    case "sold" -> tv.setSold(readBoolean(p, ctxt, token, name));
+                    case "version" -> {
+                        Integer version = readInteger(p, ctxt, token, name);
+                        tv.setVersion(version == null ? Television.ANY_VERSION : version);
+                    }
+                    case "modifiedAt" -> tv.setModifiedAt(readInstant(p, ctxt, token));
+                    default -> {
+                        ctxt.handleUnknownProperty(p, this, Television.class, name);
+                        // a problem handler may accept the field without reading its value
+                        p.skipChildren();
+                    }
+                }
+            }
+            return tv;
+        }
+
+        /**
+         * Read nullable integer
+         * @param p Parser
+         * @param ctxt Deserialization context
+         * @param token Current token
+         * @param name Field name
+         * @return Value or null
+         * @throws IOException On malformed input
+         */
+        private Integer readInteger(JsonParser p, DeserializationContext ctxt, JsonToken token, String name)
+                throws IOException {
+            if (token == JsonToken.VALUE_NULL) {
+                return null;
+            }
+            if (token != JsonToken.VALUE_NUMBER_INT) {
+                return ctxt.reportInputMismatch(this, "Field '%s' expects an integer, got %s", name, token);
+            }
+            if (p.getNumberType() != JsonParser.NumberType.INT) {
+                return ctxt.reportInputMismatch(this, "Field '%s' is out of range: %s", name, p.getText());
+            }
+            return p.getIntValue();
+        }
+
+        /**
+         * Read nullable string
+         * @param p Parser
+         * @param ctxt Deserialization context
+         * @param token Current token
+         * @param name Field name
+         * @return Value or null
+         * @throws IOException On malformed input
+         */
+        private String readString(JsonParser p, DeserializationContext ctxt, JsonToken token, String name)
+                throws IOException {
+            if (token == JsonToken.VALUE_NULL) {
+                return null;
+            }
+            if (token != JsonToken.VALUE_STRING) {
+                return ctxt.reportInputMismatch(this, "Field '%s' expects a string, got %s", name, token);
+            }
+            return p.getText();
+        }
+
+        /**
+         * Read boolean, null is false
+         * @param p Parser
+         * @param ctxt Deserialization context
+         * @param token Current token
+         * @param name Field name
+         * @return Value
+         * @throws IOException On malformed input
+         */
+        private boolean readBoolean(JsonParser p, DeserializationContext ctxt, JsonToken token, String name)
+                throws IOException {
+            if (token == JsonToken.VALUE_NULL) {
+                return false;
+            }
+            if (!token.isBoolean()) {
+                return ctxt.reportInputMismatch(this, "Field '%s' expects a boolean, got %s", name, token);
+            }
+            return p.getBooleanValue();
+        }
+
+        /**
+         * Read ISO-8601 text or epoch milliseconds
+         * @param p Parser
+         * @param ctxt Deserialization context
+         * @param token Current token
+         * @return Instant or null
+         * @throws IOException On malformed input
+         */
+        private Instant readInstant(JsonParser p, DeserializationContext ctxt, JsonToken token)
+                throws IOException {
+            if (token == JsonToken.VALUE_NULL) {
+                return null;
+            }
+            if (token == JsonToken.VALUE_NUMBER_INT) {
+                return Instant.ofEpochMilli(p.getLongValue());
+            }
+            if (token != JsonToken.VALUE_STRING) {
+                return ctxt.reportInputMismatch(this,
+                        "Field 'modifiedAt' expects a timestamp, got %s", token);
+            }
+            String text = p.getText();
+            try {
+                return Instant.parse(text);
+            } catch (DateTimeParseException e) {
+                throw ctxt.weirdStringException(text, Instant.class, e.getMessage());
+            }
+        }
+    }
+}
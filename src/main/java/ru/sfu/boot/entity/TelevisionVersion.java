@@ -0,0 +1,22 @@
+package ru.sfu.boot.entity;
+
+import java.time.Instant;
+
+/**
+ * Version of a Television row, enough to validate a cached representation
+ * @param id Identification Number
+ * @param version Row version
+ * @param modifiedAt Last modification time
+ * @author Agapchenko V.V.
+ */
+public record TelevisionVersion(Integer id, int version, Instant modifiedAt) {
+
+    /**
+     * Take version of loaded Television
+     * @param tv Television
+     * @return Television version
+     */
+    public static TelevisionVersion of(Television tv) {
+        return new TelevisionVersion(tv.getId(), tv.getVersion(), tv.getModifiedAt());
+    }
+}
@@ -0,0 +1,176 @@
+package ru.sfu.boot.index;
+
+import org.springframework.stereotype.Component;
+import ru.sfu.boot.entity.Television;
+import ru.sfu.boot.entity.TelevisionFacets;
+
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-memory counts of Not Sold Televisions by producer, production country
+ * and resolution. Counters are striped, so concurrent writes do not contend
+ * on one value; the facets of each Television are swapped atomically per ID.
+ * @author Agapchenko V.V.
+ */
+@Component
+public class FacetIndex implements TelevisionIndex {
+
+    /**
+     * Facet values of one Not Sold Television
+     * @param producer Producer
+     * @param country Production country or null
+     * @param resolution 'width x height'
+     */
+    private record Facets(String producer, String country, String resolution) {}
+
+    /**
+     * Counters, replaced as a whole when the index is rebuilt
+     */
+    private volatile Counters counters = new Counters();
+
+    /**
+     * Take a snapshot of the counts. Each counter is exact, but writes
+     * running meanwhile may be seen by some counters and not by others.
+     * @return Non-zero counts, largest first
+     */
+    public TelevisionFacets facets() {
+        Counters counters = this.counters;
+        return new TelevisionFacets(
+                counters.total.sum(),
+                snapshot(counters.producers),
+                snapshot(counters.countries),
+                snapshot(counters.resolutions)
+        );
+    }
+
+    /**
+     * Count Television under its current facets instead of previous ones;
+     * sold ones are not counted
+     * @param tv Television
+     */
+    @Override
+    public void put(Television tv) {
+        Facets facets = tv.isSold() ? null : new Facets(
+                tv.getProducer(),
+                tv.getProductionCountry(),
+                tv.getWidth() + "x" + tv.getHeight()
+        );
+        Counters counters = this.counters;
+        counters.byId.compute(tv.getId(), (id, previous) -> {
+            counters.count(previous, -1);
+            counters.count(facets, 1);
+            return facets;
+        });
+    }
+
+    /**
+     * Stop counting sold Television
+     * @param id Identification Number
+     */
+    @Override
+    public void markSold(int id) {
+        remove(id);
+    }
+
+    /**
+     * Stop counting Television by ID
+     * @param id Identification Number
+     */
+    @Override
+    public void remove(int id) {
+        Counters counters = this.counters;
+        counters.byId.computeIfPresent(id, (key, previous) -> {
+            counters.count(previous, -1);
+            return null;
+        });
+    }
+
+    /**
+     * Create builder of a detached Facet Index; counting is constant time
+     * per Television, so the builder simply puts into a fresh index
+     * @return Builder
+     */
+    @Override
+    public Builder newBuilder() {
+        FacetIndex index = new FacetIndex();
+        return new Builder() {
+            @Override
+            public void add(Television tv) {
+                index.put(tv);
+            }
+
+            @Override
+            public TelevisionIndex build() {
+                return index;
+            }
+        };
+    }
+
+    /**
+     * Replace counts with counts of built Facet Index
+     * @param built Index created by {@link #newBuilder()}
+     */
+    @Override
+    public void replaceWith(TelevisionIndex built) {
+        counters = ((FacetIndex) built).counters;
+    }
+
+    /**
+     * Add delta to counter of value; counters are never removed, so
+     * an increment cannot race with dropping its counter
+     * @param counters Counters by value
+     * @param value Facet value or null
+     * @param delta 1 or -1
+     */
+    private static void count(Map<String, LongAdder> counters, String value, int delta) {
+        if (value != null) {
+            counters.computeIfAbsent(value, v -> new LongAdder()).add(delta);
+        }
+    }
+
+    /**
+     * Facets of every counted Television with the counters they add to
+     */
+    private static final class Counters {
+        private final Map<Integer, Facets> byId = new ConcurrentHashMap<>();
+        private final LongAdder total = new LongAdder();
+        private final Map<String, LongAdder> producers = new ConcurrentHashMap<>();
+        private final Map<String, LongAdder> countries = new ConcurrentHashMap<>();
+        private final Map<String, LongAdder> resolutions = new ConcurrentHashMap<>();
+
+        /**
+         * Add delta to every counter of facets
+         * @param facets Facets or null
+         * @param delta 1 or -1
+         */
+        void count(Facets facets, int delta) {
+            if (facets == null) {
+                return;
+            }
+            total.add(delta);
+            FacetIndex.count(producers, facets.producer(), delta);
+            FacetIndex.count(countries, facets.country(), delta);
+            FacetIndex.count(resolutions, facets.resolution(), delta);
+        }
+    }
+
+    /**
+     * Read counters
+     * @param counters Counters by value
+     * @return Non-zero counts, largest first, then by value
+     */
+    private static Map<String, Long> snapshot(Map<String, LongAdder> counters) {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        counters.entrySet().stream()
+                .map(entry -> Map.entry(entry.getKey(), entry.getValue().sum()))
+                .filter(entry -> entry.getValue() > 0)
+                .sorted(Map.Entry.<String, Long>comparingByValue(Comparator.reverseOrder())
+                        .thenComparing(Map.Entry.comparingByKey()))
+                .forEach(entry -> counts.put(entry.getKey(), entry.getValue()));
+        return counts;
+    }
+}
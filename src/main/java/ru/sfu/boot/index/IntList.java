@@ -0,0 +1,71 @@
+package ru.sfu.boot.index;
+
+import java.util.Arrays;
+
+/**
+ * Growable list of ints with amortised constant time append,
+ * used to collect IDs before they are frozen into a sorted array
+ * @author Agapchenko V.V.
+ */
+final class IntList {
+
+    private int[] values = new int[8];
+    private int size;
+
+    /**
+     * Append value
+     * @param value Value
+     */
+    void add(int value) {
+        if (size == values.length) {
+            values = Arrays.copyOf(values, size * 2);
+        }
+        values[size++] = value;
+    }
+
+    /**
+     * Copy values into a sorted array without duplicates
+     * @return Sorted distinct values
+     */
+    int[] toSortedArray() {
+        int[] sorted = Arrays.copyOf(values, size);
+        Arrays.sort(sorted);
+        int distinct = 0;
+        for (int i = 0; i < sorted.length; i++) {
+            if (distinct == 0 || sorted[i] != sorted[distinct - 1]) {
+                sorted[distinct++] = sorted[i];
+            }
+        }
+        return distinct == sorted.length ? sorted : Arrays.copyOf(sorted, distinct);
+    }
+
+    /**
+     * Merge two sorted arrays of distinct values
+     * @param a Sorted distinct values
+     * @param b Sorted distinct values
+     * @return Sorted union
+     */
+    static int[] union(int[] a, int[] b) {
+        int[] merged = new int[a.length + b.length];
+        int i = 0;
+        int j = 0;
+        int size = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] < b[j]) {
+                merged[size++] = a[i++];
+            } else if (a[i] > b[j]) {
+                merged[size++] = b[j++];
+            } else {
+                merged[size++] = a[i++];
+                j++;
+            }
+        }
+        while (i < a.length) {
+            merged[size++] = a[i++];
+        }
+        while (j < b.length) {
+            merged[size++] = b[j++];
+        }
+        return size == merged.length ? merged : Arrays.copyOf(merged, size);
+    }
+}
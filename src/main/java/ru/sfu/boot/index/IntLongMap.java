@@ -0,0 +1,117 @@
+package ru.sfu.boot.index;
+
+import java.util.Arrays;
+
+/**
+ * Open addressing hash map from non-negative int to long, without boxing.
+ * Not thread-safe: used by index writers only.
+ * @author Agapchenko V.V.
+ */
+final class IntLongMap {
+
+    private static final int FREE = Integer.MIN_VALUE;
+
+    private int[] keys = newKeys(16);
+    private long[] values = new long[16];
+    private int shift = 32 - 4;
+    private int size;
+
+    /**
+     * Get value of key
+     * @param key Non-negative key
+     * @param missing Value returned for absent key
+     * @return Value or missing
+     */
+    long get(int key, long missing) {
+        int slot = slot(key);
+        return keys[slot] == FREE ? missing : values[slot];
+    }
+
+    /**
+     * Set value of key
+     * @param key Non-negative key
+     * @param value Value
+     */
+    void put(int key, long value) {
+        int slot = slot(key);
+        if (keys[slot] == FREE) {
+            keys[slot] = key;
+            if (++size * 2 > keys.length) {
+                values[slot] = value;
+                grow();
+                return;
+            }
+        }
+        values[slot] = value;
+    }
+
+    /**
+     * Remove key; following entries of its probe run are shifted back,
+     * so lookups never need tombstones
+     * @param key Non-negative key
+     */
+    void remove(int key) {
+        int slot = slot(key);
+        if (keys[slot] == FREE) {
+            return;
+        }
+        int mask = keys.length - 1;
+        int free = slot;
+        for (int i = (slot + 1) & mask; keys[i] != FREE; i = (i + 1) & mask) {
+            int home = home(keys[i]);
+            // Move entry back unless its home lies cyclically in (free, i]
+            if (((i - home) & mask) >= ((i - free) & mask)) {
+                keys[free] = keys[i];
+                values[free] = values[i];
+                free = i;
+            }
+        }
+        keys[free] = FREE;
+        size--;
+    }
+
+    private void grow() {
+        int[] oldKeys = keys;
+        long[] oldValues = values;
+        keys = newKeys(oldKeys.length * 2);
+        values = new long[oldKeys.length * 2];
+        shift--;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != FREE) {
+                int slot = slot(oldKeys[i]);
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    /**
+     * Preferred slot of key; Fibonacci hashing takes the high bits,
+     * so keys sharing a stride do not cluster
+     * @param key Key
+     * @return Slot index
+     */
+    private int home(int key) {
+        return (key * 0x9E3779B9) >>> shift;
+    }
+
+    /**
+     * Find slot of key or the free slot for it
+     * @param key Key
+     * @return Slot index
+     */
+    private int slot(int key) {
+        int mask = keys.length - 1;
+        int slot = home(key);
+        while (keys[slot] != FREE && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private static int[] newKeys(int capacity) {
+        int[] keys = new int[capacity];
+        Arrays.fill(keys, FREE);
+        return keys;
+    }
+}
@@ -0,0 +1,220 @@
+package ru.sfu.boot.index;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Sorted map from packed long key to primitive set of Identification Numbers.
+ * Sets are sorted copy-on-write int arrays, so reads are lock-free
+ * and never box IDs. Writes are serialized; the key of every ID is kept
+ * aside, so an ID is found without scanning the keys.
+ * Bulk loads go through {@link Builder}, which creates each array once.
+ * @author Agapchenko V.V.
+ */
+public class PackedIdMap {
+
+    private static final int[] EMPTY = new int[0];
+    /**
+     * Key of an ID not present in the map
+     */
+    private static final long ABSENT = Long.MIN_VALUE;
+
+    private final ConcurrentSkipListMap<Long, int[]> map;
+    /**
+     * Key by ID, guarded by this
+     */
+    private final IntLongMap keys;
+
+    /**
+     * Constructor of empty map
+     */
+    public PackedIdMap() {
+        this(new ConcurrentSkipListMap<>(), new IntLongMap());
+    }
+
+    private PackedIdMap(ConcurrentSkipListMap<Long, int[]> map, IntLongMap keys) {
+        this.map = map;
+        this.keys = keys;
+    }
+
+    /**
+     * Get IDs by key
+     * @param key Packed key
+     * @return Sorted IDs, never null
+     */
+    public int[] get(long key) {
+        int[] ids = map.get(key);
+        return ids == null ? EMPTY : ids;
+    }
+
+    /**
+     * Get read-only view of keys in range
+     * @param fromKey Lowest key, inclusive
+     * @param toKey Highest key, inclusive
+     * @return Entries in key order
+     */
+    public NavigableMap<Long, int[]> range(long fromKey, long toKey) {
+        return map.subMap(fromKey, true, toKey, true);
+    }
+
+    /**
+     * Put ID under key, moving it from its previous key
+     * @param key Packed key
+     * @param id Identification Number
+     */
+    public synchronized void put(long key, int id) {
+        long previous = keys.get(id, ABSENT);
+        if (previous == key) {
+            return;
+        }
+        if (previous != ABSENT) {
+            map.put(previous, without(get(previous), id));
+            dropIfEmpty(previous);
+        }
+        keys.put(id, key);
+        int[] ids = get(key);
+        int pos = -Arrays.binarySearch(ids, id) - 1;
+        int[] copy = new int[ids.length + 1];
+        System.arraycopy(ids, 0, copy, 0, pos);
+        copy[pos] = id;
+        System.arraycopy(ids, pos, copy, pos + 1, ids.length - pos);
+        map.put(key, copy);
+    }
+
+    /**
+     * Put many IDs, copying the array of every touched key once.
+     * Added IDs are grouped by sorting packed (key rank, ID) pairs,
+     * so no ID or key is boxed.
+     * @param ids Distinct non-negative Identification Numbers
+     * @param keysOfIds Packed key of every ID, at the same position
+     */
+    public synchronized void putAll(int[] ids, long[] keysOfIds) {
+        long[] addedKeys = new long[ids.length];
+        int[] addedIds = new int[ids.length];
+        int added = 0;
+        for (int i = 0; i < ids.length; i++) {
+            int id = ids[i];
+            long key = keysOfIds[i];
+            long previous = keys.get(id, ABSENT);
+            if (previous == key) {
+                continue;
+            }
+            if (previous != ABSENT) {
+                map.put(previous, without(get(previous), id));
+                dropIfEmpty(previous);
+            }
+            keys.put(id, key);
+            addedKeys[added] = key;
+            addedIds[added++] = id;
+        }
+        if (added == 0) {
+            return;
+        }
+
+        long[] distinctKeys = Arrays.copyOf(addedKeys, added);
+        Arrays.sort(distinctKeys);
+        int distinct = 0;
+        for (int i = 0; i < added; i++) {
+            if (distinct == 0 || distinctKeys[i] != distinctKeys[distinct - 1]) {
+                distinctKeys[distinct++] = distinctKeys[i];
+            }
+        }
+        long[] pairs = new long[added];
+        for (int i = 0; i < added; i++) {
+            long rank = Arrays.binarySearch(distinctKeys, 0, distinct, addedKeys[i]);
+            pairs[i] = rank << 32 | addedIds[i];
+        }
+        Arrays.sort(pairs);
+
+        for (int from = 0; from < added; ) {
+            int rank = (int) (pairs[from] >>> 32);
+            int to = from;
+            while (to < added && (int) (pairs[to] >>> 32) == rank) {
+                to++;
+            }
+            int[] run = new int[to - from];
+            for (int i = from; i < to; i++) {
+                run[i - from] = (int) pairs[i];
+            }
+            map.put(distinctKeys[rank], IntList.union(get(distinctKeys[rank]), run));
+            from = to;
+        }
+    }
+
+    /**
+     * Remove ID from whatever key holds it
+     * @param id Identification Number
+     */
+    public synchronized void remove(int id) {
+        long key = keys.get(id, ABSENT);
+        if (key == ABSENT) {
+            return;
+        }
+        keys.remove(id);
+        map.put(key, without(get(key), id));
+        dropIfEmpty(key);
+    }
+
+    /**
+     * Remove key left without IDs
+     * @param key Packed key
+     */
+    private void dropIfEmpty(long key) {
+        if (get(key).length == 0) {
+            map.remove(key);
+        }
+    }
+
+    /**
+     * Copy sorted IDs without one of them
+     * @param ids Sorted IDs
+     * @param id Present Identification Number
+     * @return Sorted IDs without id
+     */
+    private static int[] without(int[] ids, int id) {
+        int pos = Arrays.binarySearch(ids, id);
+        int[] copy = new int[ids.length - 1];
+        System.arraycopy(ids, 0, copy, 0, pos);
+        System.arraycopy(ids, pos + 1, copy, pos, ids.length - pos - 1);
+        return copy;
+    }
+
+    /**
+     * Collects IDs into growable lists per key, then freezes every list
+     * into a sorted array once. Not thread-safe.
+     */
+    public static class Builder {
+        private final Map<Long, IntList> lists = new HashMap<>();
+        private final IntLongMap keys = new IntLongMap();
+
+        /**
+         * Add ID under key; an ID added again is moved to the last key
+         * @param key Packed key
+         * @param id Identification Number
+         */
+        public void add(long key, int id) {
+            keys.put(id, key);
+            lists.computeIfAbsent(key, k -> new IntList()).add(id);
+        }
+
+        /**
+         * Build map
+         * @return Map of added IDs
+         */
+        public PackedIdMap build() {
+            ConcurrentSkipListMap<Long, int[]> map = new ConcurrentSkipListMap<>();
+            lists.forEach((key, list) -> {
+                int[] ids = Arrays.stream(list.toSortedArray())
+                        .filter(id -> keys.get(id, ABSENT) == key)
+                        .toArray();
+                if (ids.length > 0) {
+                    map.put(key, ids);
+                }
+            });
+            return new PackedIdMap(map, keys);
+        }
+    }
+}
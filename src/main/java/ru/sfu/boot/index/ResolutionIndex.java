@@ -0,0 +1,206 @@
+package ru.sfu.boot.index;
+
+import org.springframework.stereotype.Component;
+import ru.sfu.boot.entity.ResolutionRange;
+import ru.sfu.boot.entity.Television;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * In-memory index of Televisions by screen Width + Height.
+ * Keys are ordered by width, then by height, so a width range is one
+ * logarithmic seek followed by a scan over distinct resolutions only.
+ * @author Agapchenko V.V.
+ */
+@Component
+public class ResolutionIndex implements TelevisionIndex {
+
+    private static final int[] EMPTY = new int[0];
+
+    private volatile PackedIdMap ids = new PackedIdMap();
+    private volatile PackedIdMap unsold = new PackedIdMap();
+
+    /**
+     * Pack Width + Height into one key
+     * @param width Screen width
+     * @param height Screen height
+     * @return Packed key, ordered by width, then by height
+     */
+    public static long pack(int width, int height) {
+        return ((long) width << 32) | (height & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Find Televisions by Width + Height
+     * @param width Screen width
+     * @param height Screen height
+     * @return Sorted IDs
+     */
+    public int[] find(int width, int height) {
+        return ids.get(pack(width, height));
+    }
+
+    /**
+     * Find Not Sold Televisions with resolution in range after given ID
+     * @param range Resolution range
+     * @param after Exclusive lower bound of Identification Number (cursor)
+     * @param limit Maximum number of IDs
+     * @return Sorted IDs
+     */
+    public int[] findNotSold(ResolutionRange range, int after, int limit) {
+        if (range.minWidth() > range.maxWidth()) {
+            return EMPTY;
+        }
+        Map<Long, int[]> matching = unsold.range(
+                pack(range.minWidth(), 0),
+                pack(range.maxWidth(), Integer.MAX_VALUE)
+        );
+        int[][] lists = new int[matching.size()][];
+        int[] heads = new int[lists.length];
+        int count = 0;
+        for (Map.Entry<Long, int[]> entry : matching.entrySet()) {
+            long key = entry.getKey();
+            if (range.contains((int) (key >> 32), (int) key)) {
+                int[] list = entry.getValue();
+                int head = Arrays.binarySearch(list, after);
+                lists[count] = list;
+                heads[count++] = head < 0 ? -head - 1 : head + 1;
+            }
+        }
+        if (count == 0 || limit <= 0) {
+            return EMPTY;
+        }
+
+        // Merge sorted lists; distinct resolutions are few, so pick the least head linearly
+        int[] found = new int[limit];
+        int size = 0;
+        while (size < limit) {
+            int least = -1;
+            for (int i = 0; i < count; i++) {
+                if (heads[i] < lists[i].length
+                        && (least < 0 || lists[i][heads[i]] < lists[least][heads[least]])) {
+                    least = i;
+                }
+            }
+            if (least < 0) {
+                break;
+            }
+            found[size++] = lists[least][heads[least]++];
+        }
+        return size == limit ? found : Arrays.copyOf(found, size);
+    }
+
+    /**
+     * Add Television or move it to its current resolution
+     * @param tv Television
+     */
+    @Override
+    public synchronized void put(Television tv) {
+        long key = pack(tv.getWidth(), tv.getHeight());
+        ids.put(key, tv.getId());
+        if (tv.isSold()) {
+            unsold.remove(tv.getId());
+        } else {
+            unsold.put(key, tv.getId());
+        }
+    }
+
+    /**
+     * Add Televisions or move them to their current resolutions,
+     * copying the IDs of every touched resolution once.
+     * The last state of a Television listed twice wins.
+     * @param tvs Televisions
+     */
+    @Override
+    public synchronized void putAll(Collection<Television> tvs) {
+        Television[] all = tvs.toArray(new Television[0]);
+        IntLongMap last = new IntLongMap();
+        for (int i = 0; i < all.length; i++) {
+            last.put(all[i].getId(), i);
+        }
+
+        int[] allIds = new int[all.length];
+        long[] allKeys = new long[all.length];
+        int[] unsoldIds = new int[all.length];
+        long[] unsoldKeys = new long[all.length];
+        int count = 0;
+        int unsoldCount = 0;
+        for (int i = 0; i < all.length; i++) {
+            Television tv = all[i];
+            if (last.get(tv.getId(), -1) != i) {
+                continue;
+            }
+            long key = pack(tv.getWidth(), tv.getHeight());
+            allIds[count] = tv.getId();
+            allKeys[count++] = key;
+            if (tv.isSold()) {
+                unsold.remove(tv.getId());
+            } else {
+                unsoldIds[unsoldCount] = tv.getId();
+                unsoldKeys[unsoldCount++] = key;
+            }
+        }
+        ids.putAll(Arrays.copyOf(allIds, count), Arrays.copyOf(allKeys, count));
+        unsold.putAll(Arrays.copyOf(unsoldIds, unsoldCount), Arrays.copyOf(unsoldKeys, unsoldCount));
+    }
+
+    /**
+     * Mark Television as Sold by ID
+     * @param id Identification Number
+     */
+    @Override
+    public synchronized void markSold(int id) {
+        unsold.remove(id);
+    }
+
+    /**
+     * Remove Television by ID
+     * @param id Identification Number
+     */
+    @Override
+    public synchronized void remove(int id) {
+        ids.remove(id);
+        unsold.remove(id);
+    }
+
+    /**
+     * Create builder of a detached Resolution Index
+     * @return Builder
+     */
+    @Override
+    public Builder newBuilder() {
+        PackedIdMap.Builder allIds = new PackedIdMap.Builder();
+        PackedIdMap.Builder unsoldIds = new PackedIdMap.Builder();
+        return new Builder() {
+            @Override
+            public void add(Television tv) {
+                long key = pack(tv.getWidth(), tv.getHeight());
+                allIds.add(key, tv.getId());
+                if (!tv.isSold()) {
+                    unsoldIds.add(key, tv.getId());
+                }
+            }
+
+            @Override
+            public TelevisionIndex build() {
+                ResolutionIndex index = new ResolutionIndex();
+                index.ids = allIds.build();
+                index.unsold = unsoldIds.build();
+                return index;
+            }
+        };
+    }
+
+    /**
+     * Replace contents with contents of built Resolution Index
+     * @param built Index created by {@link #newBuilder()}
+     */
+    @Override
+    public synchronized void replaceWith(TelevisionIndex built) {
+        ResolutionIndex index = (ResolutionIndex) built;
+        ids = index.ids;
+        unsold = index.unsold;
+    }
+}
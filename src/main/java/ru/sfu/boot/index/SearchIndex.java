@@ -0,0 +1,640 @@
+package ru.sfu.boot.index;
+
+import org.springframework.stereotype.Component;
+import ru.sfu.boot.entity.Television;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory search index of Not Sold Televisions by model and producer.
+ * Terms live in a sorted dictionary that serves prefix lookups as a range
+ * and typo-tolerant lookups as a trie walk pruned by edit distance.
+ * Reads are lock-free, writes are serialized.
+ * @author Agapchenko V.V.
+ */
+@Component
+public class SearchIndex implements TelevisionIndex {
+
+    private static final int[] EMPTY = new int[0];
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    /**
+     * Score of a query token equal to a term
+     */
+    private static final double EXACT = 100;
+    /**
+     * Score of a query token covering a whole term by prefix; shorter
+     * prefixes score proportionally less
+     */
+    private static final double PREFIX = 80;
+    /**
+     * Score of a query token matching a term prefix with no typos;
+     * every typo lowers it
+     */
+    private static final double FUZZY = 40;
+
+    /**
+     * Fields and terms, replaced as a whole when the index is rebuilt
+     */
+    private volatile State state = new State();
+
+    /**
+     * Search Televisions whose model or producer match every query token
+     * by prefix or with a few typos
+     * @param query Search query
+     * @param limit Maximum number of results
+     * @return IDs ordered by relevance, then by ID
+     */
+    public int[] search(String query, int limit) {
+        Set<String> tokens = new LinkedHashSet<>();
+        for (String token : query.toLowerCase(Locale.ROOT).split("\\s+")) {
+            String compact = SEPARATORS.matcher(token).replaceAll("");
+            if (!compact.isEmpty()) {
+                tokens.add(compact);
+            }
+        }
+        if (tokens.isEmpty() || limit <= 0) {
+            return EMPTY;
+        }
+
+        State state = this.state;
+        Scores scores = null;
+        for (String token : tokens) {
+            Scores matches = new Scores();
+            state.model.match(token, matches);
+            state.producer.match(token, matches);
+            scores = scores == null ? matches : scores.and(matches);
+            if (scores.isEmpty()) {
+                return EMPTY;
+            }
+        }
+        return scores.top(limit);
+    }
+
+    /**
+     * Add Television or replace its previous terms; sold ones are removed
+     * @param tv Television
+     */
+    @Override
+    public synchronized void put(Television tv) {
+        remove(tv.getId());
+        if (tv.isSold()) {
+            return;
+        }
+
+        String[][] terms = {terms(tv.getModel()), terms(tv.getProducer())};
+        for (String term : terms[0]) {
+            state.model.add(term, tv.getId());
+        }
+        for (String term : terms[1]) {
+            state.producer.add(term, tv.getId());
+        }
+        state.termsById.put(tv.getId(), terms);
+    }
+
+    /**
+     * Add Televisions or replace their previous terms; sold ones are removed.
+     * IDs are collected per term first, so every term array is copied once
+     * per batch instead of once per Television
+     * @param tvs Televisions
+     */
+    @Override
+    public synchronized void putAll(Collection<Television> tvs) {
+        Map<Integer, Television> latest = new LinkedHashMap<>();
+        for (Television tv : tvs) {
+            latest.put(tv.getId(), tv);
+        }
+        Postings postings = new Postings();
+        for (Television tv : latest.values()) {
+            remove(tv.getId());
+            postings.add(tv);
+        }
+        postings.addTo(state);
+    }
+
+    /**
+     * Remove sold Television
+     * @param id Identification Number
+     */
+    @Override
+    public void markSold(int id) {
+        remove(id);
+    }
+
+    /**
+     * Remove Television by ID
+     * @param id Identification Number
+     */
+    @Override
+    public synchronized void remove(int id) {
+        String[][] terms = state.termsById.remove(id);
+        if (terms == null) {
+            return;
+        }
+        for (String term : terms[0]) {
+            state.model.remove(term, id);
+        }
+        for (String term : terms[1]) {
+            state.producer.remove(term, id);
+        }
+    }
+
+    /**
+     * Create builder of a detached Search Index
+     * @return Builder
+     */
+    @Override
+    public Builder newBuilder() {
+        Postings postings = new Postings();
+        return new Builder() {
+            @Override
+            public void add(Television tv) {
+                postings.add(tv);
+            }
+
+            @Override
+            public TelevisionIndex build() {
+                SearchIndex index = new SearchIndex();
+                postings.addTo(index.state);
+                return index;
+            }
+        };
+    }
+
+    /**
+     * Replace contents with contents of built Search Index
+     * @param built Index created by {@link #newBuilder()}
+     */
+    @Override
+    public synchronized void replaceWith(TelevisionIndex built) {
+        state = ((SearchIndex) built).state;
+    }
+
+    /**
+     * Split text into lower case terms: every alphanumeric part, plus all
+     * parts joined, so '43PFS5505/60' is found by '43pfs5505', '60'
+     * and '43pfs550560'
+     * @param text Text or null
+     * @return Distinct terms
+     */
+    static String[] terms(String text) {
+        if (text == null) {
+            return new String[0];
+        }
+        Set<String> terms = new LinkedHashSet<>();
+        String[] parts = SEPARATORS.split(text.toLowerCase(Locale.ROOT));
+        StringBuilder compact = new StringBuilder();
+        for (String part : parts) {
+            if (!part.isEmpty()) {
+                terms.add(part);
+                compact.append(part);
+            }
+        }
+        if (compact.length() > 0) {
+            terms.add(compact.toString());
+        }
+        return terms.toArray(new String[0]);
+    }
+
+    /**
+     * Number of typos tolerated in a query token
+     * @param length Token length
+     * @return 0 for up to 3 characters, 1 for up to 7, 2 otherwise
+     */
+    static int maxEdits(int length) {
+        return length < 4 ? 0 : length < 8 ? 1 : 2;
+    }
+
+    /**
+     * Keep the best score of every matched Television
+     * @param ids Matched IDs or null
+     * @param score Match score
+     * @param matches Best scores by ID
+     */
+    private static void record(int[] ids, double score, Scores matches) {
+        if (ids == null) {
+            return;
+        }
+        matches.reserve(ids.length);
+        for (int id : ids) {
+            matches.max(id, score);
+        }
+    }
+
+    /**
+     * Length of common prefix of two strings
+     * @param a First string
+     * @param b Second string
+     * @return Number of equal leading characters
+     */
+    private static int commonPrefix(String a, String b) {
+        int n = Math.min(a.length(), b.length());
+        int i = 0;
+        while (i < n && a.charAt(i) == b.charAt(i)) {
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * Terms of one Television field
+     */
+    private static final class Field {
+        private final double weight;
+        /**
+         * Term to sorted copy-on-write IDs
+         */
+        private final ConcurrentSkipListMap<String, int[]> terms = new ConcurrentSkipListMap<>();
+        Field(double weight) {
+            this.weight = weight;
+        }
+
+        /**
+         * Match query token against terms by prefix, then with typos
+         * @param token Query token
+         * @param matches Best scores by ID
+         */
+        void match(String token, Scores matches) {
+            String end = token + Character.MAX_VALUE;
+            for (Map.Entry<String, int[]> entry : terms.subMap(token, end).entrySet()) {
+                String term = entry.getKey();
+                double score = term.length() == token.length()
+                        ? EXACT
+                        : PREFIX * token.length() / term.length();
+                record(entry.getValue(), score * weight, matches);
+            }
+
+            int maxEdits = maxEdits(token.length());
+            if (maxEdits > 0) {
+                matchFuzzy(token, end, maxEdits, matches);
+            }
+        }
+
+        /**
+         * Walk the sorted terms starting with the first character of token
+         * as a trie, keeping one edit distance row per depth (transposition
+         * counted as one edit): rows of
+         * a shared prefix are reused by the next term and a prefix whose
+         * row exceeds the bound skips its whole range
+         * @param token Query token
+         * @param end Upper bound of terms starting with token
+         * @param maxEdits Number of typos tolerated
+         * @param matches Best scores by ID
+         */
+        private void matchFuzzy(String token, String end, int maxEdits, Scores matches) {
+            int n = token.length();
+            int maxDepth = n + maxEdits;
+            // rows[d][i]: distance between token[0, i) and term[0, d)
+            int[][] rows = new int[maxDepth + 1][n + 1];
+            // best[d]: distance between token and closest of term[0, 1..d)
+            int[] best = new int[maxDepth + 1];
+            for (int i = 0; i <= n; i++) {
+                rows[0][i] = i;
+            }
+            best[0] = n;
+
+            // Typos in the first character are rare and make huge ranges
+            String first = token.substring(0, 1);
+            String last = first + Character.MAX_VALUE;
+            String prev = "";
+            int valid = 0;
+            String term = terms.ceilingKey(first);
+            while (term != null && term.compareTo(last) < 0) {
+                if (term.startsWith(token)) {
+                    // Already matched by prefix
+                    term = terms.ceilingKey(end);
+                    continue;
+                }
+
+                int depth = Math.min(commonPrefix(prev, term), valid);
+                int limit = Math.min(term.length(), maxDepth);
+                boolean pruned = false;
+                while (depth < limit) {
+                    char c = term.charAt(depth);
+                    int[] up = rows[depth];
+                    int[] row = rows[++depth];
+                    row[0] = depth;
+                    int rowMin = depth;
+                    for (int i = 1; i <= n; i++) {
+                        int cost = token.charAt(i - 1) == c ? 0 : 1;
+                        row[i] = Math.min(Math.min(row[i - 1], up[i]) + 1, up[i - 1] + cost);
+                        // Swapped neighbours are one typo
+                        if (i > 1 && depth > 1 && token.charAt(i - 1) == term.charAt(depth - 2)
+                                && token.charAt(i - 2) == c) {
+                            row[i] = Math.min(row[i], rows[depth - 2][i - 2] + 1);
+                        }
+                        rowMin = Math.min(rowMin, row[i]);
+                    }
+                    best[depth] = Math.min(best[depth - 1], row[n]);
+                    if (rowMin > maxEdits) {
+                        pruned = true;
+                        break;
+                    }
+                }
+                prev = term;
+                valid = depth;
+
+                int distance = best[depth];
+                double score = FUZZY * (1 - (double) distance / (maxEdits + 1)) * weight;
+                if (pruned) {
+                    // Every term of the range shares the distance of the prefix
+                    String prefix = term.substring(0, depth);
+                    String next = prefix + Character.MAX_VALUE;
+                    if (distance <= maxEdits) {
+                        for (int[] ids : terms.subMap(prefix, next).values()) {
+                            record(ids, score, matches);
+                        }
+                    }
+                    term = terms.ceilingKey(next);
+                    continue;
+                }
+                if (distance <= maxEdits) {
+                    record(terms.get(term), score, matches);
+                }
+                term = terms.higherKey(term);
+            }
+        }
+
+        /**
+         * Add collected IDs under their terms, copying every term array once
+         * @param collected IDs by term
+         */
+        void addAll(Map<String, IntList> collected) {
+            for (Map.Entry<String, IntList> entry : collected.entrySet()) {
+                int[] ids = entry.getValue().toSortedArray();
+                int[] old = terms.get(entry.getKey());
+                terms.put(entry.getKey(), old == null ? ids : IntList.union(old, ids));
+            }
+        }
+
+        /**
+         * Add ID under term
+         * @param term Term
+         * @param id Identification Number
+         */
+        void add(String term, int id) {
+            int[] ids = terms.getOrDefault(term, EMPTY);
+            int pos = Arrays.binarySearch(ids, id);
+            if (pos >= 0) {
+                return;
+            }
+            pos = -pos - 1;
+            int[] copy = new int[ids.length + 1];
+            System.arraycopy(ids, 0, copy, 0, pos);
+            copy[pos] = id;
+            System.arraycopy(ids, pos, copy, pos + 1, ids.length - pos);
+            terms.put(term, copy);
+        }
+
+        /**
+         * Remove ID from term, dropping the term with its last ID
+         * @param term Term
+         * @param id Identification Number
+         */
+        void remove(String term, int id) {
+            int[] ids = terms.getOrDefault(term, EMPTY);
+            int pos = Arrays.binarySearch(ids, id);
+            if (pos < 0) {
+                return;
+            }
+            if (ids.length == 1) {
+                terms.remove(term);
+                return;
+            }
+            int[] copy = new int[ids.length - 1];
+            System.arraycopy(ids, 0, copy, 0, pos);
+            System.arraycopy(ids, pos + 1, copy, pos, ids.length - pos - 1);
+            terms.put(term, copy);
+        }
+
+    }
+
+    /**
+     * Fields of a Search Index with the terms indexed for every ID
+     */
+    private static final class State {
+        private final Field model = new Field(1.0);
+        private final Field producer = new Field(0.7);
+        /**
+         * Indexed model and producer terms by Identification Number
+         */
+        private final Map<Integer, String[][]> termsById = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * IDs of Not Sold Televisions collected per term in growable lists,
+     * added to the fields at once
+     */
+    private static final class Postings {
+        private final Map<String, IntList> model = new HashMap<>();
+        private final Map<String, IntList> producer = new HashMap<>();
+        private final Map<Integer, String[][]> termsById = new HashMap<>();
+
+        /**
+         * Collect terms of Television unless it is sold
+         * @param tv Television
+         */
+        void add(Television tv) {
+            if (tv.isSold()) {
+                return;
+            }
+            String[][] terms = {terms(tv.getModel()), terms(tv.getProducer())};
+            for (String term : terms[0]) {
+                model.computeIfAbsent(term, t -> new IntList()).add(tv.getId());
+            }
+            for (String term : terms[1]) {
+                producer.computeIfAbsent(term, t -> new IntList()).add(tv.getId());
+            }
+            termsById.put(tv.getId(), terms);
+        }
+
+        /**
+         * Add collected IDs to fields of state
+         * @param state Fields and terms
+         */
+        void addTo(State state) {
+            state.model.addAll(model);
+            state.producer.addAll(producer);
+            state.termsById.putAll(termsById);
+        }
+    }
+
+    /**
+     * Scores by Television ID in an open addressing table of primitives
+     */
+    private static final class Scores {
+        private static final int FREE = Integer.MIN_VALUE;
+
+        private int[] keys = newKeys(16);
+        private double[] values = new double[16];
+        private int shift = 32 - 4;
+        private int size;
+
+        /**
+         * Grow ahead of adding IDs, so the table is resized at most once
+         * @param count Number of IDs about to be added
+         */
+        void reserve(int count) {
+            while ((size + count) * 2 > keys.length) {
+                grow();
+            }
+        }
+
+        /**
+         * Keep the better of current and given score
+         * @param id Identification Number
+         * @param score Score
+         */
+        void max(int id, double score) {
+            int slot = slot(id);
+            if (keys[slot] == FREE) {
+                keys[slot] = id;
+                values[slot] = score;
+                if (++size * 2 > keys.length) {
+                    grow();
+                }
+            } else if (values[slot] < score) {
+                values[slot] = score;
+            }
+        }
+
+        /**
+         * Keep IDs present in both tables, summing their scores
+         * @param other Scores of the next query token
+         * @return Combined scores
+         */
+        Scores and(Scores other) {
+            Scores result = new Scores();
+            result.reserve(Math.min(size, other.size));
+            for (int i = 0; i < keys.length; i++) {
+                if (keys[i] != FREE) {
+                    int slot = other.slot(keys[i]);
+                    if (other.keys[slot] != FREE) {
+                        result.max(keys[i], values[i] + other.values[slot]);
+                    }
+                }
+            }
+            return result;
+        }
+
+        /**
+         * @return true if nothing matched
+         */
+        boolean isEmpty() {
+            return size == 0;
+        }
+
+        /**
+         * Select best IDs with a bounded heap whose root is the worst kept
+         * @param limit Maximum number of IDs
+         * @return IDs ordered by score, then by ID
+         */
+        int[] top(int limit) {
+            int[] heap = new int[Math.min(limit, size)];
+            int count = 0;
+            for (int i = 0; i < keys.length; i++) {
+                if (keys[i] == FREE) {
+                    continue;
+                }
+                if (count < heap.length) {
+                    heap[count] = i;
+                    siftUp(heap, count++);
+                } else if (better(i, heap[0])) {
+                    heap[0] = i;
+                    siftDown(heap, count);
+                }
+            }
+            int[] ids = new int[count];
+            for (int last = count - 1; last >= 0; last--) {
+                ids[last] = keys[heap[0]];
+                heap[0] = heap[last];
+                siftDown(heap, last);
+            }
+            return ids;
+        }
+
+        private boolean better(int a, int b) {
+            return values[a] != values[b] ? values[a] > values[b] : keys[a] < keys[b];
+        }
+
+        private void siftUp(int[] heap, int i) {
+            while (i > 0) {
+                int parent = (i - 1) / 2;
+                if (!better(heap[parent], heap[i])) {
+                    return;
+                }
+                swap(heap, parent, i);
+                i = parent;
+            }
+        }
+
+        private void siftDown(int[] heap, int size) {
+            int i = 0;
+            while (true) {
+                int worst = i;
+                for (int child = 2 * i + 1; child <= 2 * i + 2 && child < size; child++) {
+                    if (better(heap[worst], heap[child])) {
+                        worst = child;
+                    }
+                }
+                if (worst == i) {
+                    return;
+                }
+                swap(heap, i, worst);
+                i = worst;
+            }
+        }
+
+        private void grow() {
+            int[] oldKeys = keys;
+            double[] oldValues = values;
+            keys = newKeys(oldKeys.length * 2);
+            values = new double[oldKeys.length * 2];
+            shift--;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] != FREE) {
+                    int slot = slot(oldKeys[i]);
+                    keys[slot] = oldKeys[i];
+                    values[slot] = oldValues[i];
+                }
+            }
+        }
+
+        /**
+         * Find slot of ID or the free slot for it; Fibonacci hashing takes
+         * the high bits, so IDs sharing a stride do not cluster
+         * @param id Identification Number
+         * @return Slot index
+         */
+        private int slot(int id) {
+            int mask = keys.length - 1;
+            int slot = (id * 0x9E3779B9) >>> shift;
+            while (keys[slot] != FREE && keys[slot] != id) {
+                slot = (slot + 1) & mask;
+            }
+            return slot;
+        }
+
+        private static int[] newKeys(int capacity) {
+            int[] keys = new int[capacity];
+            Arrays.fill(keys, FREE);
+            return keys;
+        }
+
+        private static void swap(int[] heap, int a, int b) {
+            int tmp = heap[a];
+            heap[a] = heap[b];
+            heap[b] = tmp;
+        }
+    }
+}
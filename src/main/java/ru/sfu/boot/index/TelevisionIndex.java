@@ -0,0 +1,67 @@
+package ru.sfu.boot.index;
+
+import ru.sfu.boot.entity.Television;
+
+import java.util.Collection;
+
+/**
+ * In-memory Television Index Interface
+ * @author Agapchenko V.V.
+ */
+public interface TelevisionIndex {
+    /**
+     * Add Television or replace its previous state
+     * @param tv Television
+     */
+    void put(Television tv);
+
+    /**
+     * Add Televisions or replace their previous state
+     * @param tvs Televisions
+     */
+    default void putAll(Collection<Television> tvs) {
+        tvs.forEach(this::put);
+    }
+
+    /**
+     * Mark Television as Sold by ID
+     * @param id Identification Number
+     */
+    default void markSold(int id) {}
+
+    /**
+     * Remove Television by ID
+     * @param id Identification Number
+     */
+    void remove(int id);
+
+    /**
+     * Create builder of a detached index of the same kind
+     * @return Builder
+     */
+    Builder newBuilder();
+
+    /**
+     * Atomically replace contents of this index with contents of built one,
+     * which must not be used afterwards
+     * @param built Index created by {@link #newBuilder()} of this index
+     */
+    void replaceWith(TelevisionIndex built);
+
+    /**
+     * Bulk loader of a detached index
+     */
+    interface Builder {
+        /**
+         * Add Television
+         * @param tv Television
+         */
+        void add(Television tv);
+
+        /**
+         * Build index of added Televisions
+         * @return Detached index
+         */
+        TelevisionIndex build();
+    }
+}
@@ -0,0 +1,245 @@
+package ru.sfu.boot.index;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import ru.sfu.boot.entity.Television;
+import ru.sfu.boot.repository.TelevisionRepository;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * Keeps every in-memory Television Index in sync with the database.
+ * Indexes are built into detached copies while serving the previous
+ * contents, then swapped in; writes made meanwhile are logged and
+ * replayed onto the copies first, so a page loaded before a write
+ * cannot bring back the state it replaced.
+ * <p>
+ * The version of every indexed Television is kept as well: writes are
+ * applied after their transactions commit, possibly out of order, so a
+ * write carrying a version older than the indexed one is skipped
+ * instead of bringing back the state a concurrent write replaced.
+ * @author Agapchenko V.V.
+ */
+@Component
+public class TelevisionIndexes {
+
+    private final List<TelevisionIndex> indexes;
+    private final TelevisionRepository rep;
+    private final int batchSize;
+    private volatile boolean ready = false;
+    /**
+     * Writes hold the read lock and run concurrently; swapping built
+     * indexes holds the write lock
+     */
+    private final ReadWriteLock swapLock = new ReentrantReadWriteLock();
+    /**
+     * Writes made while building, or null when not building
+     */
+    private volatile Queue<Consumer<TelevisionIndex>> replay;
+    /**
+     * Indexed version by Television ID; guards version checks, so a
+     * write is checked and applied before a concurrent one is checked
+     */
+    private final IntLongMap versions = new IntLongMap();
+
+    /**
+     * Constructor
+     * @param indexes Television Indexes
+     * @param televisionRepository Television Repository
+     * @param batchSize Page size used while building indexes
+     */
+    @Autowired
+    public TelevisionIndexes(
+            List<TelevisionIndex> indexes,
+            TelevisionRepository televisionRepository,
+            @Value("${tvs.stream.batch-size}") int batchSize
+    ) {
+        this.indexes = indexes;
+        this.rep = televisionRepository;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Build indexes at startup
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void build() {
+        List<TelevisionIndex.Builder> builders = indexes.stream()
+                .map(TelevisionIndex::newBuilder)
+                .toList();
+        Queue<Consumer<TelevisionIndex>> writes = new ConcurrentLinkedQueue<>();
+        swapLock.writeLock().lock();
+        replay = writes;
+        swapLock.writeLock().unlock();
+        try {
+            int after = -1;
+            List<Television> page;
+            do {
+                page = rep.findByIdGreaterThanOrderByIdAsc(after, PageRequest.ofSize(batchSize));
+                for (Television tv : page) {
+                    builders.forEach(builder -> builder.add(tv));
+                }
+                synchronized (versions) {
+                    for (Television tv : page) {
+                        if (isCurrent(tv.getId(), tv.getVersion())) {
+                            versions.put(tv.getId(), tv.getVersion());
+                        }
+                    }
+                }
+                if (!page.isEmpty()) {
+                    after = page.get(page.size() - 1).getId();
+                }
+            } while (page.size() == batchSize);
+            List<TelevisionIndex> built = builders.stream()
+                    .map(TelevisionIndex.Builder::build)
+                    .toList();
+
+            swapLock.writeLock().lock();
+            try {
+                for (Consumer<TelevisionIndex> write : writes) {
+                    built.forEach(write);
+                }
+                for (int i = 0; i < indexes.size(); i++) {
+                    indexes.get(i).replaceWith(built.get(i));
+                }
+            } finally {
+                swapLock.writeLock().unlock();
+            }
+        } finally {
+            replay = null;
+        }
+        ready = true;
+    }
+
+    /**
+     * Are indexes built?
+     * @return True - built, false - not
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Add Television or replace its previous state in every index,
+     * unless a newer version is indexed already
+     * @param tv Television as written, with the version it was written at
+     */
+    public void put(Television tv) {
+        synchronized (versions) {
+            if (isCurrent(tv.getId(), tv.getVersion())) {
+                versions.put(tv.getId(), tv.getVersion());
+                write(index -> index.put(tv));
+            }
+        }
+    }
+
+    /**
+     * Add Televisions or replace their previous state in every index,
+     * skipping those with a newer version indexed already
+     * @param tvs Televisions as written, with the versions they were written at
+     */
+    public void putAll(Collection<Television> tvs) {
+        synchronized (versions) {
+            List<Television> current = new ArrayList<>(tvs.size());
+            for (Television tv : tvs) {
+                if (isCurrent(tv.getId(), tv.getVersion())) {
+                    versions.put(tv.getId(), tv.getVersion());
+                    current.add(tv);
+                }
+            }
+            if (!current.isEmpty()) {
+                write(index -> index.putAll(current));
+            }
+        }
+    }
+
+    /**
+     * Mark Television as Sold in every index, unless a newer version
+     * is indexed already
+     * @param id Identification Number
+     * @param version Version written by the sale
+     */
+    public void markSold(int id, int version) {
+        synchronized (versions) {
+            if (isCurrent(id, version)) {
+                versions.put(id, version);
+                write(index -> index.markSold(id));
+            }
+        }
+    }
+
+    /**
+     * Remove Television from every index
+     * @param id Identification Number
+     */
+    public void remove(int id) {
+        synchronized (versions) {
+            versions.remove(id);
+            write(index -> index.remove(id));
+        }
+    }
+
+    /**
+     * Reload Televisions state from the database, e.g. after a change
+     * made on another node. IDs are loaded a page at a time, so a large
+     * batch stays within the bind parameter limit of one query.
+     * @param ids Identification Numbers
+     */
+    public void refresh(int... ids) {
+        for (int from = 0; from < ids.length; from += batchSize) {
+            List<Integer> page = Arrays.stream(ids, from, Math.min(from + batchSize, ids.length))
+                    .boxed()
+                    .toList();
+            List<Television> found = new ArrayList<>(page.size());
+            rep.findAllById(page).forEach(found::add);
+            Set<Integer> missing = new HashSet<>(page);
+            found.forEach(tv -> missing.remove(tv.getId()));
+            if (!found.isEmpty()) {
+                putAll(found);
+            }
+            missing.forEach(this::remove);
+        }
+    }
+
+    /**
+     * Is the given version not older than the indexed one?
+     * Must be called holding the versions monitor.
+     * @param id Identification Number
+     * @param version Version
+     * @return True - apply it, false - a newer version is indexed
+     */
+    private boolean isCurrent(int id, int version) {
+        return version >= versions.get(id, Long.MIN_VALUE);
+    }
+
+    /**
+     * Apply write to every index, logging it for indexes being built
+     * @param write Write
+     */
+    private void write(Consumer<TelevisionIndex> write) {
+        swapLock.readLock().lock();
+        try {
+            indexes.forEach(write);
+            Queue<Consumer<TelevisionIndex>> writes = replay;
+            if (writes != null) {
+                writes.add(write);
+            }
+        } finally {
+            swapLock.readLock().unlock();
+        }
+    }
+}
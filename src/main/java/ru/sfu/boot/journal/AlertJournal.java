@@ -0,0 +1,268 @@
+package ru.sfu.boot.journal;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import ru.sfu.boot.entity.Alert;
+import ru.sfu.boot.service.AlertCodec;
+import ru.sfu.boot.service.AlertHandler;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Append-only, memory-mapped journal of consumed Alerts.
+ * The log is split into fixed-size segment files which are retained
+ * after rolling. Record layout: payload length, CRC-32C, Television ID,
+ * timestamp, Alert encoded with {@link AlertCodec}. The checksum covers
+ * everything after it, so a record torn by a crash (the OS may write its
+ * pages back in any order) is detected on replay and ends the segment.
+ * An in-memory index keeps record offsets by Television ID and is rebuilt
+ * at startup by scanning the segments.
+ * <p>
+ * The journal records only Alerts consumed by this node. With a shared
+ * broker message groups spread consumption over nodes, so it is enabled
+ * with the single-node 'embedded' profile only, where this node consumes
+ * every Alert it sends.
+ * @author Agapchenko V.V.
+ */
+@Component
+@Profile("embedded")
+public class AlertJournal implements AlertHandler {
+
+    /**
+     * Journal entry
+     * @param timestamp Time the Alert was journaled, epoch milliseconds
+     * @param alert Alert Message
+     */
+    public record Entry(long timestamp, Alert alert) {}
+
+    private static final int LENGTH = 0;
+    private static final int CRC = LENGTH + Integer.BYTES;
+    private static final int TELEVISION_ID = CRC + Integer.BYTES;
+    private static final int TIMESTAMP = TELEVISION_ID + Integer.BYTES;
+    private static final int HEADER = TIMESTAMP + Long.BYTES;
+    private static final String SUFFIX = ".log";
+
+    private final Path directory;
+    private final int segmentSize;
+    private final List<MappedByteBuffer> segments = new ArrayList<>();
+    private final Map<Integer, Offsets> index = new HashMap<>();
+    private final AlertCodec.Buffer buffer = new AlertCodec.Buffer();
+    private final CRC32C crc = new CRC32C();
+    private int position;
+
+    /**
+     * Constructor; opens existing segments and rebuilds the index
+     * @param directory Segments directory
+     * @param segmentSize Segment file size in bytes
+     * @throws IOException Segment file error
+     */
+    public AlertJournal(
+            @Value("${alert.journal.directory}") Path directory,
+            @Value("${alert.journal.segment-size}") int segmentSize
+    ) throws IOException {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        Files.createDirectories(directory);
+        recover();
+    }
+
+    /**
+     * Journal consumed Alert
+     * @param alert Alert Message
+     */
+    @Override
+    public void handle(Alert alert) {
+        append(alert, System.currentTimeMillis());
+    }
+
+    /**
+     * Append Alert to the active segment, rolling it when full
+     * @param alert Alert Message
+     * @param timestamp Epoch milliseconds
+     */
+    public synchronized void append(Alert alert, long timestamp) {
+        AlertCodec.encode(alert, buffer);
+        int size = HEADER + buffer.length();
+        if (size > segmentSize) {
+            throw new IllegalArgumentException("Alert does not fit into journal segment");
+        }
+        if (position + size > segmentSize) {
+            roll();
+        }
+
+        int segment = segments.size() - 1;
+        MappedByteBuffer out = segments.get(segment);
+        out.putInt(position + TELEVISION_ID, alert.getTelevisionId());
+        out.putLong(position + TIMESTAMP, timestamp);
+        out.put(position + HEADER, buffer.bytes(), 0, buffer.length());
+        out.putInt(position + CRC, checksum(out, position, buffer.length()));
+        // length is written last: a non-zero length marks a written record
+        out.putInt(position + LENGTH, buffer.length());
+
+        index.computeIfAbsent(alert.getTelevisionId(), id -> new Offsets())
+                .add(offset(segment, position));
+        position += size;
+    }
+
+    /**
+     * Get journaled Alerts of Television, oldest first
+     * @param televisionId Television Identification Number
+     * @return List of entries
+     */
+    public List<Entry> history(int televisionId) {
+        long[] offsets;
+        MappedByteBuffer[] mapped;
+        synchronized (this) {
+            Offsets found = index.get(televisionId);
+            if (found == null)
+                return List.of();
+            offsets = found.toArray();
+            mapped = segments.toArray(new MappedByteBuffer[0]);
+        }
+
+        List<Entry> entries = new ArrayList<>(offsets.length);
+        for (long offset : offsets) {
+            MappedByteBuffer in = mapped[(int) (offset >>> 32)];
+            int pos = (int) offset;
+            byte[] payload = new byte[in.getInt(pos + LENGTH)];
+            in.get(pos + HEADER, payload);
+            entries.add(new Entry(
+                    in.getLong(pos + TIMESTAMP),
+                    AlertCodec.decode(payload)
+            ));
+        }
+        return entries;
+    }
+
+    /**
+     * Flush mapped segments to disk
+     */
+    @PreDestroy
+    public synchronized void force() {
+        segments.forEach(MappedByteBuffer::force);
+    }
+
+    /**
+     * Map existing segments in order and index their records.
+     * A segment is read up to its first unwritten or corrupt record;
+     * the last segment is appended to from there.
+     * @throws IOException Segment file error
+     */
+    private void recover() throws IOException {
+        List<Path> files;
+        try (Stream<Path> list = Files.list(directory)) {
+            files = list.filter(p -> p.getFileName().toString().endsWith(SUFFIX))
+                    .sorted()
+                    .toList();
+        }
+        for (Path file : files) {
+            MappedByteBuffer in = map(file, Math.max(segmentSize, (int) Files.size(file)));
+            segments.add(in);
+            int segment = segments.size() - 1;
+            position = 0;
+            while (position + HEADER <= in.capacity()) {
+                int length = in.getInt(position + LENGTH);
+                if (length <= 0 || position + HEADER + length > in.capacity()
+                        || in.getInt(position + CRC) != checksum(in, position, length))
+                    break;
+                index.computeIfAbsent(in.getInt(position + TELEVISION_ID), id -> new Offsets())
+                        .add(offset(segment, position));
+                position += HEADER + length;
+            }
+        }
+        if (segments.isEmpty()) {
+            roll();
+        }
+    }
+
+    /**
+     * Compute checksum of record, from Television ID to the end of payload
+     * @param segment Mapped segment
+     * @param position Record position
+     * @param length Payload length
+     * @return CRC-32C
+     */
+    private int checksum(MappedByteBuffer segment, int position, int length) {
+        crc.reset();
+        crc.update(segment.slice(position + TELEVISION_ID, HEADER - TELEVISION_ID + length));
+        return (int) crc.getValue();
+    }
+
+    /**
+     * Start a new segment; previous segments are kept for history reads
+     */
+    private void roll() {
+        if (!segments.isEmpty()) {
+            segments.get(segments.size() - 1).force();
+        }
+        Path file = directory.resolve(String.format("%020d%s", segments.size(), SUFFIX));
+        try {
+            segments.add(map(file, segmentSize));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        position = 0;
+    }
+
+    /**
+     * Map segment file read-write
+     * @param file Segment file
+     * @param size Mapped size
+     * @return Mapped buffer
+     * @throws IOException Segment file error
+     */
+    private static MappedByteBuffer map(Path file, int size) throws IOException {
+        try (FileChannel channel = FileChannel.open(
+                file,
+                StandardOpenOption.CREATE,
+                StandardOpenOption.READ,
+                StandardOpenOption.WRITE
+        )) {
+            return channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        }
+    }
+
+    /**
+     * Pack segment number and position into record offset
+     * @param segment Segment number
+     * @param position Position in segment
+     * @return Record offset
+     */
+    private static long offset(int segment, int position) {
+        return ((long) segment << 32) | position;
+    }
+
+    /**
+     * Growable primitive list of record offsets
+     */
+    private static final class Offsets {
+        private long[] values = new long[4];
+        private int size;
+
+        void add(long value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        long[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package ru.sfu.boot.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import ru.sfu.boot.entity.OutboxAlert;
+
+import java.util.List;
+
+/**
+ * JPA Repository Interface for Alert Outbox
+ * @author Agapchenko V.V.
+ */
+@Repository
+public interface AlertOutboxRepository extends JpaRepository<OutboxAlert, Long> {
+    /**
+     * Try to take a transaction-scoped advisory lock, released on commit
+     * or rollback
+     * @param key Lock key
+     * @return true if taken, false if another transaction holds it
+     */
+    @Query(value = "select pg_try_advisory_xact_lock(:key)", nativeQuery = true)
+    boolean tryAdvisoryXactLock(@Param("key") long key);
+
+    /**
+     * Get oldest pending Alerts
+     * @param limit Maximum number of Alerts
+     * @return List of Alerts ordered by ID
+     */
+    @Query(value = "select * from alert_outbox order by id limit :limit", nativeQuery = true)
+    List<OutboxAlert> findOldest(@Param("limit") int limit);
+}
@@ -0,0 +1,123 @@
+package ru.sfu.boot.repository;
+
+import io.r2dbc.spi.Readable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import ru.sfu.boot.entity.Television;
+
+import java.time.Instant;
+
+/**
+ * Non-blocking R2DBC Repository for Television entities
+ * @author Agapchenko V.V.
+ */
+@Repository
+public class ReactiveTelevisionRepository {
+
+    private static final String COLUMNS =
+            "id, model, producer, production_country, width, height, sold, version, modified_at";
+
+    private final DatabaseClient db;
+    private final int fetchSize;
+
+    /**
+     * Constructor
+     * @param db R2DBC Database Client
+     * @param fetchSize Rows fetched per round trip while streaming
+     */
+    @Autowired
+    public ReactiveTelevisionRepository(
+            DatabaseClient db,
+            @Value("${tvs.stream.batch-size}") int fetchSize
+    ) {
+        this.db = db;
+        this.fetchSize = fetchSize;
+    }
+
+    /**
+     * Find Television by ID
+     * @param id Identification Number
+     * @return Television or empty
+     */
+    public Mono<Television> findById(int id) {
+        return db.sql("select " + COLUMNS + " from televisions where id = :id")
+                .bind("id", id)
+                .map(ReactiveTelevisionRepository::toTelevision)
+                .one();
+    }
+
+    /**
+     * Stream Televisions by Width + Height
+     * @param width Screen width
+     * @param height Screen height
+     * @return Televisions ordered by ID
+     */
+    public Flux<Television> findByWidthAndHeight(int width, int height) {
+        return db.sql("select " + COLUMNS + " from televisions"
+                        + " where width = :width and height = :height order by id")
+                .bind("width", width)
+                .bind("height", height)
+                .filter(s -> s.fetchSize(fetchSize))
+                .map(ReactiveTelevisionRepository::toTelevision)
+                .all();
+    }
+
+    /**
+     * Stream sold or not sold Televisions
+     * @param sold Sold or not
+     * @return Televisions ordered by ID
+     */
+    public Flux<Television> findBySold(boolean sold) {
+        return db.sql("select " + COLUMNS + " from televisions where sold = :sold order by id")
+                .bind("sold", sold)
+                .filter(s -> s.fetchSize(fetchSize))
+                .map(ReactiveTelevisionRepository::toTelevision)
+                .all();
+    }
+
+    /**
+     * Mark Television as Sold if it is not sold yet and store its Alert
+     * in the outbox, in one statement
+     * @param id Identification Number
+     * @param alert Encoded sell Alert
+     * @return Version written if this caller sold it, empty if not
+     */
+    public Mono<Integer> markSold(int id, byte[] alert) {
+        return db.sql("with sold as ("
+                        + " update televisions set sold = true, version = version + 1, modified_at = :now"
+                        + " where id = :id and sold = false returning id, version"
+                        + "), outbox as ("
+                        + " insert into alert_outbox (television_id, payload)"
+                        + " select id, :payload from sold"
+                        + ") select version from sold")
+                .bind("id", id)
+                .bind("now", Instant.now())
+                .bind("payload", alert)
+                .map(row -> row.get("version", Integer.class))
+                .one();
+    }
+
+    /**
+     * Map row to Television
+     * @param row Result row
+     * @return Television
+     */
+    private static Television toTelevision(Readable row) {
+        Television tv = new Television(
+                row.get("id", Integer.class),
+                row.get("model", String.class),
+                row.get("producer", String.class),
+                row.get("production_country", String.class),
+                row.get("width", Integer.class),
+                row.get("height", Integer.class)
+        );
+        tv.setSold(Boolean.TRUE.equals(row.get("sold", Boolean.class)));
+        tv.setVersion(row.get("version", Integer.class));
+        tv.setModifiedAt(row.get("modified_at", Instant.class));
+        return tv;
+    }
+}
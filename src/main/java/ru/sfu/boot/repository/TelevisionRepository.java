@@ -1,9 +1,17 @@
 package ru.sfu.boot.repository;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import ru.sfu.boot.entity.ResolutionRange;
 import ru.sfu.boot.entity.Television;
+import ru.sfu.boot.entity.TelevisionVersion;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 
@@ -12,7 +20,9 @@ import java.util.Optional;
  * @author Agapchenko V.V.
  */
 @Repository
-public interface TelevisionRepository extends JpaRepository<Television, Integer> {
+public interface TelevisionRepository extends
+        JpaRepository<Television, Integer>,
+        TelevisionRepositoryCustom {
     /**
      * Find Televisions by Width + Height
      * @param width Screen width
@@ -24,16 +34,169 @@ public interface TelevisionRepository extends JpaRepository<Television, Integer>
             Integer height
     );
 
-    /**
-     * Find last Television
-     * @return Optional Television
-     */
-    Optional<Television> findFirstByOrderByIdDesc();
-
     /**
      * Find sold or not sold Televisions
      * @param sold Sold or not
      * @return List of Televisions
      */
     List<Television> findBySold(boolean sold);
+
+    /**
+     * Find page of sold or not sold Televisions after given ID (keyset)
+     * @param sold Sold or not
+     * @param id Exclusive lower bound of Identification Number
+     * @param pageable Page size
+     * @return List of Televisions ordered by ID
+     */
+    List<Television> findBySoldAndIdGreaterThanOrderByIdAsc(
+            boolean sold,
+            Integer id,
+            Pageable pageable
+    );
+
+    /**
+     * Find page of Televisions after given ID (keyset)
+     * @param id Exclusive lower bound of Identification Number
+     * @param pageable Page size
+     * @return List of Televisions ordered by ID
+     */
+    List<Television> findByIdGreaterThanOrderByIdAsc(Integer id, Pageable pageable);
+
+    /**
+     * Find a page of Not Sold Televisions with resolution in range
+     * @param range Resolution range
+     * @param after Exclusive lower bound of Identification Number
+     * @param pageable Page request
+     * @return Televisions ordered by ID
+     */
+    @Query("select t from Television t where t.sold = false and t.id > :after"
+            + " and t.width between :#{#range.minWidth} and :#{#range.maxWidth}"
+            + " and t.height between :#{#range.minHeight} and :#{#range.maxHeight}"
+            + " and abs(t.width * :#{#range.aspectHeight} - t.height * :#{#range.aspectWidth}) * 100"
+            + " <= t.height * :#{#range.aspectWidth}"
+            + " order by t.id")
+    List<Television> findNotSoldInRange(
+            @Param("range") ResolutionRange range,
+            @Param("after") Integer after,
+            Pageable pageable
+    );
+
+    /**
+     * Find Not Sold Televisions whose model or producer starts with prefix
+     * @param prefix Lower case LIKE pattern, '!' escaped
+     * @param pageable Page request
+     * @return Televisions ordered by ID
+     */
+    @Query("select t from Television t where t.sold = false"
+            + " and (lower(t.model) like :prefix escape '!'"
+            + " or lower(t.producer) like :prefix escape '!') order by t.id")
+    List<Television> findNotSoldByPrefix(
+            @Param("prefix") String prefix,
+            Pageable pageable
+    );
+
+    /**
+     * Find version of Not Sold Television without loading it
+     * @param id Identification Number
+     * @return Television version or empty
+     */
+    @Query("select new ru.sfu.boot.entity.TelevisionVersion(t.id, t.version, t.modifiedAt)"
+            + " from Television t where t.id = :id and t.sold = false")
+    Optional<TelevisionVersion> findNotSoldVersion(@Param("id") Integer id);
+
+    /**
+     * Find versions of a page of Not Sold Televisions without loading them
+     * @param after Exclusive lower bound of Identification Number (cursor)
+     * @param pageable Page size
+     * @return Television versions ordered by ID
+     */
+    @Query("select new ru.sfu.boot.entity.TelevisionVersion(t.id, t.version, t.modifiedAt)"
+            + " from Television t where t.sold = false and t.id > :after order by t.id")
+    List<TelevisionVersion> findNotSoldVersions(
+            @Param("after") Integer after,
+            Pageable pageable
+    );
+
+    /**
+     * Reserve block of Television IDs from the sequence
+     * @return First ID of the block; its size is the sequence increment
+     */
+    @Transactional
+    @Query(value = "select nextval('televisions_id_seq')", nativeQuery = true)
+    long reserveIdBlock();
+
+    /**
+     * Get increment of the Television ID sequence, the size of reserved blocks
+     * @return Sequence increment or empty if the sequence is missing
+     */
+    @Query(value = "select increment_by from pg_sequences"
+            + " where schemaname = current_schema() and sequencename = 'televisions_id_seq'",
+            nativeQuery = true)
+    Optional<Long> findIdSequenceIncrement();
+
+    /**
+     * Insert Television unless its ID is taken, in one statement
+     * @param tv New Television
+     * @param now Modification time
+     * @return Number of inserted rows: 1 - inserted, 0 - ID is taken
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "insert into televisions"
+            + " (id, model, producer, production_country, width, height, sold, version, modified_at)"
+            + " values (:#{#tv.id}, :#{#tv.model}, :#{#tv.producer},"
+            + " cast(:#{#tv.productionCountry} as text), :#{#tv.width}, :#{#tv.height},"
+            + " false, 0, :now)"
+            + " on conflict do nothing", nativeQuery = true)
+    int insertIfAbsent(@Param("tv") Television tv, @Param("now") Instant now);
+
+    /**
+     * Update Not Sold Television if its version matches, in one statement
+     * @param tv Changed Television with the version it was read at
+     * @param now Modification time
+     * @return Number of updated rows: 1 - updated, 0 - absent, sold or stale
+     */
+    @Modifying
+    @Transactional
+    @Query("update Television t set t.model = :#{#tv.model}, t.producer = :#{#tv.producer},"
+            + " t.productionCountry = :#{#tv.productionCountry},"
+            + " t.width = :#{#tv.width}, t.height = :#{#tv.height},"
+            + " t.version = t.version + 1, t.modifiedAt = :now"
+            + " where t.id = :#{#tv.id} and t.version = :#{#tv.version} and t.sold = false")
+    int updateIfCurrent(@Param("tv") Television tv, @Param("now") Instant now);
+
+    /**
+     * Update Not Sold Television whatever its version, in one statement
+     * @param tv Changed Television
+     * @param now Modification time
+     * @return Version written, empty if absent or sold
+     */
+    @Transactional
+    @Query(value = "update televisions set model = :#{#tv.model}, producer = :#{#tv.producer},"
+            + " production_country = cast(:#{#tv.productionCountry} as text),"
+            + " width = :#{#tv.width}, height = :#{#tv.height},"
+            + " version = version + 1, modified_at = :now"
+            + " where id = :#{#tv.id} and sold = false returning version", nativeQuery = true)
+    Optional<Integer> updateNotSold(@Param("tv") Television tv, @Param("now") Instant now);
+
+    /**
+     * Delete Television by ID, in one statement
+     * @param id Identification Number
+     * @return Number of deleted rows: 1 - deleted, 0 - absent
+     */
+    @Modifying
+    @Transactional
+    @Query("delete from Television t where t.id = :id")
+    int deleteByIdReturningCount(@Param("id") Integer id);
+
+    /**
+     * Mark Television as Sold if it is not sold yet, in one statement
+     * @param id Identification Number
+     * @param now Modification time
+     * @return Version written if this caller sold it, empty if not
+     */
+    @Transactional
+    @Query(value = "update televisions set sold = true, version = version + 1, modified_at = :now"
+            + " where id = :id and sold = false returning version", nativeQuery = true)
+    Optional<Integer> markSold(@Param("id") Integer id, @Param("now") Instant now);
 }
@@ -0,0 +1,20 @@
+package ru.sfu.boot.repository;
+
+import ru.sfu.boot.entity.Television;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Custom Repository Interface for bulk Television operations
+ * @author Agapchenko V.V.
+ */
+public interface TelevisionRepositoryCustom {
+    /**
+     * Insert new Televisions in one statement, skipping taken IDs
+     * @param tvs New Televisions with distinct IDs
+     * @param now Modification time
+     * @return IDs of inserted Televisions
+     */
+    List<Integer> insertAllIfAbsent(List<Television> tvs, Instant now);
+}
@@ -0,0 +1,84 @@
+package ru.sfu.boot.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.springframework.transaction.annotation.Transactional;
+import ru.sfu.boot.entity.Television;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Custom Repository for bulk Television operations
+ * @author Agapchenko V.V.
+ */
+public class TelevisionRepositoryCustomImpl implements TelevisionRepositoryCustom {
+
+    /**
+     * Rows are sent as one array per column and unnested by PostgreSQL,
+     * so the whole list is a single statement; rows with taken IDs are
+     * skipped and the IDs of inserted ones are returned
+     */
+    private static final String INSERT_ALL_IF_ABSENT = "insert into televisions"
+            + " (id, model, producer, production_country, width, height, sold, version, modified_at)"
+            + " select t.id, t.model, t.producer, t.production_country, t.width, t.height, false, 0, ?"
+            + " from unnest(?, ?, ?, ?, ?, ?)"
+            + " as t (id, model, producer, production_country, width, height)"
+            + " on conflict do nothing"
+            + " returning id";
+
+    @PersistenceContext
+    private EntityManager em;
+
+    /**
+     * Insert new Televisions in one statement, skipping taken IDs.
+     * Concurrent inserts of the same ID never fail the statement.
+     * @param tvs New Televisions with distinct IDs
+     * @param now Modification time
+     * @return IDs of inserted Televisions
+     */
+    @Override
+    @Transactional
+    public List<Integer> insertAllIfAbsent(List<Television> tvs, Instant now) {
+        int size = tvs.size();
+        Integer[] ids = new Integer[size];
+        String[] models = new String[size];
+        String[] producers = new String[size];
+        String[] countries = new String[size];
+        Integer[] widths = new Integer[size];
+        Integer[] heights = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            Television tv = tvs.get(i);
+            ids[i] = tv.getId();
+            models[i] = tv.getModel();
+            producers[i] = tv.getProducer();
+            countries[i] = tv.getProductionCountry();
+            widths[i] = tv.getWidth();
+            heights[i] = tv.getHeight();
+        }
+
+        return em.unwrap(Session.class).doReturningWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(INSERT_ALL_IF_ABSENT)) {
+                statement.setObject(1, now.atOffset(ZoneOffset.UTC));
+                statement.setArray(2, connection.createArrayOf("integer", ids));
+                statement.setArray(3, connection.createArrayOf("text", models));
+                statement.setArray(4, connection.createArrayOf("text", producers));
+                statement.setArray(5, connection.createArrayOf("text", countries));
+                statement.setArray(6, connection.createArrayOf("integer", widths));
+                statement.setArray(7, connection.createArrayOf("integer", heights));
+                List<Integer> inserted = new ArrayList<>(size);
+                try (ResultSet rows = statement.executeQuery()) {
+                    while (rows.next()) {
+                        inserted.add(rows.getInt(1));
+                    }
+                }
+                return inserted;
+            }
+        });
+    }
+}
@@ -0,0 +1,373 @@
+package ru.sfu.boot.rest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import ru.sfu.boot.config.HttpFormatsConfig;
+import ru.sfu.boot.entity.Television;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Concurrent load generator over {@link RestClient}.
+ * Requests are dispatched open-loop at a fixed rate and run by a pool
+ * of workers; latency is measured from the moment a request was
+ * scheduled, so time spent waiting for a free worker counts as well.
+ * Latencies after warmup go to one HDR histogram per operation, which
+ * is printed as percentiles and saved as a '.hgrm' file to compare runs.
+ * <p>
+ * Arguments (all optional): --url=http://localhost:8080 --format=cbor
+ * --rate=200 --concurrency=32 --duration=60 --warmup=10
+ * --mix=list=10,get=50,post=15,put=15,delete=5,purchase=5
+ * --histograms=target/load
+ * @author Agapchenko V.V.
+ */
+public class LoadGenerator {
+
+    /**
+     * Highest trackable latency, ns
+     */
+    private static final long MAX_LATENCY = TimeUnit.MINUTES.toNanos(1);
+    /**
+     * Percentiles printed in the report
+     */
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+
+    /**
+     * Operation of the scenario
+     */
+    enum Operation {
+        LIST, GET, POST, PUT, DELETE, PURCHASE;
+
+        /**
+         * Key of operation in the mix argument
+         * @return Lowercase name
+         */
+        String key() {
+            return name().toLowerCase();
+        }
+    }
+
+    private final Operation[] operations;
+    private final int[] weights;
+    private final int totalWeight;
+    private final Map<Operation, Recorder> recorders = new EnumMap<>(Operation.class);
+    private final Map<Operation, LongAdder> errors = new EnumMap<>(Operation.class);
+    /**
+     * IDs of Televisions present before the run, read by GET
+     */
+    private final int[] knownIds;
+    /**
+     * Televisions created by this run, changed by PUT, DELETE and PURCHASE
+     */
+    private final Queue<Television> owned = new ConcurrentLinkedQueue<>();
+    /**
+     * Requests scheduled earlier belong to warmup and are not recorded, ns
+     */
+    private long measureFrom;
+    /**
+     * Requests dropped because workers did not finish in time, or -1
+     * if the run completed
+     */
+    private int abandoned = -1;
+
+    /**
+     * Constructor
+     * @param mix Operation weights
+     * @param knownIds IDs of existing Televisions
+     */
+    LoadGenerator(Map<Operation, Integer> mix, int[] knownIds) {
+        this.operations = mix.keySet().toArray(new Operation[0]);
+        this.weights = new int[operations.length];
+        int total = 0;
+        for (int i = 0; i < operations.length; i++) {
+            total += mix.get(operations[i]);
+            weights[i] = total;
+        }
+        if (total <= 0) {
+            throw new IllegalArgumentException("Operation mix has no positive weights");
+        }
+        this.totalWeight = total;
+        this.knownIds = knownIds;
+        for (Operation operation : Operation.values()) {
+            recorders.put(operation, new Recorder(MAX_LATENCY, 3));
+            errors.put(operation, new LongAdder());
+        }
+    }
+
+    /**
+     * Run load and print report
+     * @param args Arguments '--key=value'
+     * @throws IOException Histogram cannot be written
+     * @throws InterruptedException Interrupted while waiting for workers
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        Map<String, String> options = parseArgs(args);
+        RestClient.URL = options.getOrDefault("url", RestClient.URL);
+        RestClient.FORMAT = format(options.getOrDefault("format", "cbor"));
+        int rate = Integer.parseInt(options.getOrDefault("rate", "200"));
+        if (rate <= 0) {
+            throw new IllegalArgumentException("Expected positive --rate, got " + rate);
+        }
+        int concurrency = Integer.parseInt(options.getOrDefault("concurrency", "32"));
+        Duration duration = Duration.ofSeconds(Long.parseLong(options.getOrDefault("duration", "60")));
+        Duration warmup = Duration.ofSeconds(Long.parseLong(options.getOrDefault("warmup", "10")));
+        Map<Operation, Integer> mix = parseMix(
+                options.getOrDefault("mix", "list=10,get=50,post=15,put=15,delete=5,purchase=5")
+        );
+        Path histograms = Path.of(options.getOrDefault("histograms", "target/load"));
+        RestClient.rest = RestClient.createRestTemplate(RestClient.FORMAT, concurrency);
+
+        ResponseEntity<Television[]> page = RestClient.getTelevisionPage(-1);
+        int[] knownIds = List.of(Objects.requireNonNull(page.getBody())).stream()
+                .mapToInt(Television::getId)
+                .toArray();
+
+        LoadGenerator generator = new LoadGenerator(mix, knownIds);
+        System.out.printf(
+                "> %s, %s, %d req/s, %d workers, %ds + %ds warmup, mix %s%n",
+                RestClient.URL, RestClient.FORMAT, rate, concurrency,
+                duration.toSeconds(), warmup.toSeconds(), mix
+        );
+        generator.run(rate, concurrency, warmup, duration);
+        generator.report(System.out, duration, histograms);
+    }
+
+    /**
+     * Dispatch requests at fixed rate until warmup and duration elapse.
+     * Workers get one minute to finish the requests still queued; after
+     * that they are stopped and the report is marked incomplete.
+     * @param rate Requests per second
+     * @param concurrency Number of workers
+     * @param warmup Time excluded from the report
+     * @param duration Measured time
+     * @throws InterruptedException Interrupted while waiting for workers
+     */
+    void run(int rate, int concurrency, Duration warmup, Duration duration)
+            throws InterruptedException {
+        ExecutorService workers = Executors.newFixedThreadPool(concurrency);
+        long period = TimeUnit.SECONDS.toNanos(1) / rate;
+        long start = System.nanoTime();
+        measureFrom = start + warmup.toNanos();
+        long end = measureFrom + duration.toNanos();
+
+        for (long intended = start; intended < end; intended += period) {
+            long delay = intended - System.nanoTime();
+            if (delay > 0) {
+                LockSupport.parkNanos(delay);
+            }
+            Operation operation = next();
+            long scheduled = intended;
+            workers.execute(() -> execute(operation, scheduled));
+        }
+        workers.shutdown();
+        if (!workers.awaitTermination(1, TimeUnit.MINUTES)) {
+            // Requests still queued are never sent; running ones are interrupted
+            abandoned = workers.shutdownNow().size();
+        }
+    }
+
+    /**
+     * Pick operation by weight
+     * @return Operation
+     */
+    private Operation next() {
+        int r = ThreadLocalRandom.current().nextInt(totalWeight);
+        int i = 0;
+        while (r >= weights[i]) {
+            i++;
+        }
+        return operations[i];
+    }
+
+    /**
+     * Perform operation and record its latency and error, unless
+     * scheduled during warmup.
+     * PUT, DELETE and PURCHASE need a Television of this run and
+     * perform POST instead when none is left; GET performs LIST when
+     * no Television existed before the run.
+     * @param operation Operation
+     * @param scheduled Intended start, ns
+     */
+    private void execute(Operation operation, long scheduled) {
+        Television tv = null;
+        if (operation == Operation.PUT
+                || operation == Operation.DELETE
+                || operation == Operation.PURCHASE) {
+            tv = owned.poll();
+            if (tv == null) {
+                operation = Operation.POST;
+            }
+        } else if (operation == Operation.GET && knownIds.length == 0) {
+            operation = Operation.LIST;
+        }
+        boolean failed = false;
+        try {
+            switch (operation) {
+                case LIST -> RestClient.getTelevisionPage(-1);
+                case GET -> RestClient.getTelevision(
+                        knownIds[ThreadLocalRandom.current().nextInt(knownIds.length)]
+                );
+                case POST -> owned.add(Objects.requireNonNull(
+                        RestClient.postTelevision(newTelevision()).getBody()
+                ));
+                case PUT -> {
+                    tv.setModel(tv.getModel() + "+");
+                    RestClient.putTelevision(tv);
+                    tv.setVersion(tv.getVersion() + 1);
+                    owned.add(tv);
+                }
+                case DELETE -> RestClient.deleteTelevision(tv.getId());
+                case PURCHASE -> failed = !RestClient.purchaseTelevision(tv.getId());
+            }
+        } catch (RuntimeException e) {
+            failed = true;
+        }
+        long latency = System.nanoTime() - scheduled;
+        if (scheduled < measureFrom) {
+            return;
+        }
+        if (failed) {
+            errors.get(operation).increment();
+        }
+        recorders.get(operation).recordValue(Math.min(latency, MAX_LATENCY));
+    }
+
+    /**
+     * Create Television without ID, the server allocates one
+     * @return Television
+     */
+    private static Television newTelevision() {
+        String model = "LOAD-" + ThreadLocalRandom.current().nextInt(1_000_000);
+        return new Television(0, model, "LoadGenerator", "Russia", 1920, 1080);
+    }
+
+    /**
+     * Print percentiles per operation and save histograms.
+     * A run whose workers had to be stopped is reported as incomplete.
+     * @param out Report output
+     * @param duration Measured time
+     * @param dir Directory of '.hgrm' files
+     * @throws IOException Histogram cannot be written
+     */
+    void report(PrintStream out, Duration duration, Path dir) throws IOException {
+        Files.createDirectories(dir);
+        out.printf("%-9s %9s %7s %9s", "operation", "count", "errors", "req/s");
+        for (double p : PERCENTILES) {
+            out.printf(" %9s", "p" + p + "ms");
+        }
+        out.printf(" %9s%n", "max,ms");
+
+        Histogram total = new Histogram(MAX_LATENCY, 3);
+        for (Operation operation : Operation.values()) {
+            Histogram histogram = recorders.get(operation).getIntervalHistogram();
+            total.add(histogram);
+            print(out, operation.key(), histogram, errors.get(operation).sum(), duration);
+            save(histogram, dir.resolve(operation.key() + ".hgrm"));
+        }
+        long totalErrors = errors.values().stream().mapToLong(LongAdder::sum).sum();
+        print(out, "total", total, totalErrors, duration);
+        save(total, dir.resolve("total.hgrm"));
+        out.printf("> Histograms saved to %s%n", dir.toAbsolutePath());
+        if (abandoned >= 0) {
+            out.printf("> INCOMPLETE: workers did not finish within 1 minute, "
+                    + "%d queued requests were not sent%n", abandoned);
+        }
+    }
+
+    /**
+     * Print report line
+     * @param out Report output
+     * @param name Operation name
+     * @param histogram Latencies, ns
+     * @param errors Number of failed requests
+     * @param duration Measured time
+     */
+    private static void print(PrintStream out, String name, Histogram histogram, long errors,
+                              Duration duration) {
+        out.printf("%-9s %9d %7d %9.1f", name, histogram.getTotalCount(), errors,
+                histogram.getTotalCount() * 1000.0 / duration.toMillis());
+        for (double p : PERCENTILES) {
+            out.printf(" %9.2f", histogram.getValueAtPercentile(p) / 1e6);
+        }
+        out.printf(" %9.2f%n", histogram.getMaxValue() / 1e6);
+    }
+
+    /**
+     * Save histogram percentile distribution in milliseconds
+     * @param histogram Latencies, ns
+     * @param file Output file
+     * @throws IOException Cannot be written
+     */
+    private static void save(Histogram histogram, Path file) throws IOException {
+        try (PrintStream out = new PrintStream(Files.newOutputStream(file))) {
+            histogram.outputPercentileDistribution(out, 1e6);
+        }
+    }
+
+    /**
+     * Parse '--key=value' arguments
+     * @param args Arguments
+     * @return Options by key
+     */
+    private static Map<String, String> parseArgs(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (!arg.startsWith("--") || eq < 0) {
+                throw new IllegalArgumentException("Expected --key=value, got " + arg);
+            }
+            options.put(arg.substring(2, eq), arg.substring(eq + 1));
+        }
+        return options;
+    }
+
+    /**
+     * Parse operation mix like 'get=80,post=20'
+     * @param mix Mix argument
+     * @return Weights by operation
+     */
+    private static Map<Operation, Integer> parseMix(String mix) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (String part : mix.split(",")) {
+            String[] pair = part.split("=");
+            weights.put(
+                    Operation.valueOf(pair[0].trim().toUpperCase()),
+                    Integer.parseInt(pair[1].trim())
+            );
+        }
+        return weights;
+    }
+
+    /**
+     * Get media type by short name
+     * @param name cbor, smile or json
+     * @return Media type
+     */
+    private static MediaType format(String name) {
+        return switch (name) {
+            case "cbor" -> MediaType.APPLICATION_CBOR;
+            case "smile" -> MediaType.valueOf(HttpFormatsConfig.APPLICATION_SMILE);
+            case "json" -> MediaType.APPLICATION_JSON;
+            default -> throw new IllegalArgumentException("Unknown format " + name);
+        };
+    }
+}
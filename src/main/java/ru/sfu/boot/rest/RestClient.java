@@ -1,15 +1,34 @@
 package ru.sfu.boot.rest;
 
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
 import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestTemplate;
+import ru.sfu.boot.config.HttpFormatsConfig;
 import ru.sfu.boot.entity.Television;
+import ru.sfu.boot.entity.TelevisionJacksonModule;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 
 /**
- * REST Client Example
+ * REST Client Example. Calls share one pooled keep-alive connection
+ * manager; {@link LoadGenerator} drives them concurrently.
  * @author Agapchenko V.V.
  */
 @Component
@@ -18,10 +37,71 @@ public class RestClient {
      * Host URL
      */
     static String URL = "http://localhost:8080";
+    /**
+     * Representation exchanged with the server: CBOR, Smile or JSON
+     */
+    static MediaType FORMAT = MediaType.APPLICATION_CBOR;
+    /**
+     * Default number of pooled connections
+     */
+    static final int POOL_SIZE = 20;
     /**
      * Rest Template Object
      */
-    static RestTemplate rest = new RestTemplate();
+    static RestTemplate rest = createRestTemplate(FORMAT);
+
+    /**
+     * Create REST Template speaking one representation: it is sent
+     * as the request body and asked for in the Accept header
+     * @param format CBOR, Smile or JSON media type
+     * @return REST Template
+     */
+    public static RestTemplate createRestTemplate(MediaType format) {
+        return createRestTemplate(format, POOL_SIZE);
+    }
+
+    /**
+     * Create REST Template over a pool of keep-alive connections
+     * @param format CBOR, Smile or JSON media type
+     * @param poolSize Maximum number of open connections
+     * @return REST Template
+     */
+    public static RestTemplate createRestTemplate(MediaType format, int poolSize) {
+        HttpComponentsClientHttpRequestFactory factory = new HttpComponentsClientHttpRequestFactory(
+                HttpClients.custom()
+                        .setConnectionManager(PoolingHttpClientConnectionManagerBuilder.create()
+                                .setMaxConnTotal(poolSize)
+                                .setMaxConnPerRoute(poolSize)
+                                .build())
+                        .evictIdleConnections(TimeValue.ofSeconds(30))
+                        .build()
+        );
+        RestTemplate template = new RestTemplate(factory);
+        template.setMessageConverters(List.of(converter(format)));
+        return template;
+    }
+
+    /**
+     * Create message converter with the hand-written Television serializer
+     * @param format CBOR, Smile or JSON media type
+     * @return Message converter
+     */
+    static AbstractJackson2HttpMessageConverter converter(MediaType format) {
+        TelevisionJacksonModule module = new TelevisionJacksonModule();
+        if (MediaType.APPLICATION_CBOR.equals(format)) {
+            return new MappingJackson2CborHttpMessageConverter(
+                    Jackson2ObjectMapperBuilder.cbor().modulesToInstall(module).build()
+            );
+        }
+        if (MediaType.valueOf(HttpFormatsConfig.APPLICATION_SMILE).equals(format)) {
+            return new MappingJackson2SmileHttpMessageConverter(
+                    Jackson2ObjectMapperBuilder.smile().modulesToInstall(module).build()
+            );
+        }
+        return new MappingJackson2HttpMessageConverter(
+                Jackson2ObjectMapperBuilder.json().modulesToInstall(module).build()
+        );
+    }
 
     /**
      * REST Template Usage Example
@@ -45,12 +125,13 @@ public class RestClient {
         putTelevision(tv);
         System.out.println(getTelevision(id));
 
-        System.out.printf("> POST Television #%d\n", ++id);
-        tv.setId(id);
+        System.out.println("> POST Television");
+        tv.setId(0);
         tv.setWidth(width);
         tv.setHeight(height);
         ResponseEntity<Television> response = postTelevision(tv);
-        tv = response.getBody();
+        tv = Objects.requireNonNull(response.getBody());
+        id = tv.getId();
         System.out.println(tv);
 
         System.out.printf("> DELETE Television #%d\n", id);
@@ -65,15 +146,30 @@ public class RestClient {
     }
 
     /**
-     * GET Televisions with REST Template
+     * GET Televisions with REST Template following page cursors
      * @return List of Televisions
      */
     public static List<Television> getTelevisions() {
-        return List.of(
-                Objects.requireNonNull(
-                        rest.getForObject(URL + "/tvs", Television[].class
-                        )
-                )
+        List<Television> tvs = new ArrayList<>();
+        String after = "-1";
+        while (after != null) {
+            ResponseEntity<Television[]> response = getTelevisionPage(Integer.parseInt(after));
+            tvs.addAll(List.of(Objects.requireNonNull(response.getBody())));
+            after = response.getHeaders().getFirst("X-Next-Cursor");
+        }
+        return tvs;
+    }
+
+    /**
+     * GET one page of Televisions with REST Template
+     * @param after Cursor: ID of the last Television of the previous page
+     * @return Response with Televisions and X-Next-Cursor header
+     */
+    public static ResponseEntity<Television[]> getTelevisionPage(int after) {
+        return rest.getForEntity(
+                URL + "/tvs?after={after}",
+                Television[].class,
+                after
         );
     }
 
@@ -112,7 +208,34 @@ public class RestClient {
      * @param id Identification number
      */
     public static void deleteTelevision(int id) {
-        rest.delete(URL + "/tvs/{id}", id);
+        rest.exchange(URL + "/tvs/{id}", HttpMethod.DELETE, accepting(), Void.class, id);
+    }
+
+    /**
+     * POST Television purchase with REST Template
+     * @param id Identification number
+     * @return True - purchased, false - already sold or absent
+     */
+    public static boolean purchaseTelevision(int id) {
+        try {
+            rest.exchange(URL + "/tvs/{id}/purchase", HttpMethod.POST, accepting(), Void.class, id);
+            return true;
+        } catch (HttpClientErrorException e) {
+            if (e.getStatusCode() == HttpStatus.CONFLICT)
+                return false;
+            throw e;
+        }
+    }
+
+    /**
+     * Request without body asking for the API representation,
+     * so it is routed to the REST endpoint rather than the HTML one
+     * @return Request entity
+     */
+    private static HttpEntity<Void> accepting() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setAccept(List.of(FORMAT));
+        return new HttpEntity<>(headers);
     }
 
     /**
@@ -0,0 +1,236 @@
+package ru.sfu.boot.service;
+
+import ru.sfu.boot.entity.Alert;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Compact binary encoding of Alert.
+ * Layout: version, action, presence mask, zig-zag varint television ID,
+ * varint count, then only the present fields (varint-length UTF-8 strings,
+ * varint numbers, one byte for sold).
+ * @author Agapchenko V.V.
+ */
+public final class AlertCodec {
+
+    /**
+     * Encoding version
+     */
+    static final byte VERSION = 1;
+
+    private static final Alert.Action[] ACTIONS = Alert.Action.values();
+
+    private static final int MODEL = 1;
+    private static final int PRODUCER = 1 << 1;
+    private static final int COUNTRY = 1 << 2;
+    private static final int WIDTH = 1 << 3;
+    private static final int HEIGHT = 1 << 4;
+    private static final int SOLD = 1 << 5;
+
+    private AlertCodec() {}
+
+    /**
+     * Reusable, growable output buffer
+     */
+    public static final class Buffer {
+        private byte[] bytes = new byte[256];
+        private int length;
+
+        /**
+         * Get encoded bytes; valid up to {@link #length()}
+         * @return Backing array
+         */
+        public byte[] bytes() {
+            return bytes;
+        }
+
+        /**
+         * Get number of encoded bytes
+         * @return Length
+         */
+        public int length() {
+            return length;
+        }
+
+        private void ensure(int extra) {
+            if (length + extra > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, length + extra));
+            }
+        }
+
+        private void put(int b) {
+            ensure(1);
+            bytes[length++] = (byte) b;
+        }
+
+        private void putVarint(int value) {
+            ensure(5);
+            while ((value & ~0x7F) != 0) {
+                bytes[length++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            bytes[length++] = (byte) value;
+        }
+
+        private void putString(String s) {
+            int n = s.length();
+            int utf8 = 0;
+            for (int i = 0; i < n; i++) {
+                char c = s.charAt(i);
+                if (c < 0x80) utf8 += 1;
+                else if (c < 0x800) utf8 += 2;
+                else if (Character.isHighSurrogate(c) && i + 1 < n
+                        && Character.isLowSurrogate(s.charAt(i + 1))) {
+                    utf8 += 4;
+                    i++;
+                } else utf8 += 3;
+            }
+            putVarint(utf8);
+            ensure(utf8);
+            for (int i = 0; i < n; i++) {
+                char c = s.charAt(i);
+                if (c < 0x80) {
+                    bytes[length++] = (byte) c;
+                } else if (c < 0x800) {
+                    bytes[length++] = (byte) (0xC0 | (c >> 6));
+                    bytes[length++] = (byte) (0x80 | (c & 0x3F));
+                } else if (Character.isHighSurrogate(c) && i + 1 < n
+                        && Character.isLowSurrogate(s.charAt(i + 1))) {
+                    int cp = Character.toCodePoint(c, s.charAt(++i));
+                    bytes[length++] = (byte) (0xF0 | (cp >> 18));
+                    bytes[length++] = (byte) (0x80 | ((cp >> 12) & 0x3F));
+                    bytes[length++] = (byte) (0x80 | ((cp >> 6) & 0x3F));
+                    bytes[length++] = (byte) (0x80 | (cp & 0x3F));
+                } else {
+                    if (Character.isSurrogate(c)) c = '?';
+                    bytes[length++] = (byte) (0xE0 | (c >> 12));
+                    bytes[length++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                    bytes[length++] = (byte) (0x80 | (c & 0x3F));
+                }
+            }
+        }
+    }
+
+    /**
+     * Encode Alert into buffer, replacing its previous content.
+     * Allocates nothing unless the buffer has to grow.
+     * @param alert Alert Message
+     * @param out Output buffer
+     */
+    public static void encode(Alert alert, Buffer out) {
+        out.length = 0;
+        int mask = (alert.getModel() != null ? MODEL : 0)
+                | (alert.getProducer() != null ? PRODUCER : 0)
+                | (alert.getProductionCountry() != null ? COUNTRY : 0)
+                | (alert.getWidth() != null ? WIDTH : 0)
+                | (alert.getHeight() != null ? HEIGHT : 0)
+                | (alert.getSold() != null ? SOLD : 0);
+
+        out.put(VERSION);
+        out.put(alert.getAction().ordinal());
+        out.put(mask);
+        int id = alert.getTelevisionId();
+        out.putVarint((id << 1) ^ (id >> 31));
+        out.putVarint(alert.getCount());
+        if ((mask & MODEL) != 0) out.putString(alert.getModel());
+        if ((mask & PRODUCER) != 0) out.putString(alert.getProducer());
+        if ((mask & COUNTRY) != 0) out.putString(alert.getProductionCountry());
+        if ((mask & WIDTH) != 0) out.putVarint(alert.getWidth());
+        if ((mask & HEIGHT) != 0) out.putVarint(alert.getHeight());
+        if ((mask & SOLD) != 0) out.put(alert.getSold() ? 1 : 0);
+    }
+
+    /**
+     * Encode Alert into a new array
+     * @param alert Alert Message
+     * @return Encoded bytes
+     */
+    public static byte[] toBytes(Alert alert) {
+        Buffer out = new Buffer();
+        encode(alert, out);
+        return Arrays.copyOf(out.bytes, out.length);
+    }
+
+    /**
+     * Decode Alert
+     * @param bytes Encoded bytes
+     * @param length Number of encoded bytes
+     * @return Alert Message
+     * @throws IllegalArgumentException Unknown version or action, or truncated input
+     */
+    public static Alert decode(byte[] bytes, int length) {
+        Reader in = new Reader(bytes, length);
+        int version = in.get();
+        if (version != VERSION) {
+            throw new IllegalArgumentException("Unknown alert encoding version " + version);
+        }
+        int ordinal = in.get();
+        if (ordinal >= ACTIONS.length) {
+            throw new IllegalArgumentException("Unknown alert action " + ordinal);
+        }
+        Alert.Action action = ACTIONS[ordinal];
+        int mask = in.get();
+        int zigzag = in.getVarint();
+        Alert alert = new Alert(action, (zigzag >>> 1) ^ -(zigzag & 1));
+        alert.setCount(in.getVarint());
+        if ((mask & MODEL) != 0) alert.setModel(in.getString());
+        if ((mask & PRODUCER) != 0) alert.setProducer(in.getString());
+        if ((mask & COUNTRY) != 0) alert.setProductionCountry(in.getString());
+        if ((mask & WIDTH) != 0) alert.setWidth(in.getVarint());
+        if ((mask & HEIGHT) != 0) alert.setHeight(in.getVarint());
+        if ((mask & SOLD) != 0) alert.setSold(in.get() != 0);
+        return alert;
+    }
+
+    /**
+     * Decode Alert
+     * @param bytes Encoded bytes
+     * @return Alert Message
+     */
+    public static Alert decode(byte[] bytes) {
+        return decode(bytes, bytes.length);
+    }
+
+    /**
+     * Sequential reader over encoded bytes
+     */
+    private static final class Reader {
+        private final byte[] bytes;
+        private final int length;
+        private int pos;
+
+        Reader(byte[] bytes, int length) {
+            this.bytes = bytes;
+            this.length = length;
+        }
+
+        int get() {
+            if (pos >= length) {
+                throw new IllegalArgumentException("Truncated alert");
+            }
+            return bytes[pos++] & 0xFF;
+        }
+
+        int getVarint() {
+            int value = 0;
+            for (int shift = 0; shift < 35; shift += 7) {
+                int b = get();
+                value |= (b & 0x7F) << shift;
+                if ((b & 0x80) == 0)
+                    return value;
+            }
+            throw new IllegalArgumentException("Malformed varint");
+        }
+
+        String getString() {
+            int n = getVarint();
+            if (n < 0 || n > length - pos) {
+                throw new IllegalArgumentException("Truncated alert");
+            }
+            String s = new String(bytes, pos, n, StandardCharsets.UTF_8);
+            pos += n;
+            return s;
+        }
+    }
+}
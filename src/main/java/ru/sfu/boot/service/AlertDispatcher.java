@@ -0,0 +1,53 @@
+package ru.sfu.boot.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import ru.sfu.boot.entity.Alert;
+
+import java.util.List;
+
+/**
+ * Hands consumed Alerts to Alert Handlers on the consumer thread, so
+ * a message is acknowledged only after every handler has handled it.
+ * A failing handler fails the dispatch: the listener session rolls back
+ * and the broker redelivers the Alert, or dead-letters it once its
+ * delivery attempts are used up, so handlers must be idempotent.
+ * Parallelism comes from concurrent consumers: message groups keep
+ * Alerts of one Television on one consumer, in order.
+ * @author Agapchenko V.V.
+ */
+@Component
+public class AlertDispatcher {
+    private static final Logger log = LoggerFactory.getLogger(AlertDispatcher.class);
+
+    private final List<AlertHandler> handlers;
+
+    /**
+     * Constructor
+     * @param handlers Alert Handlers
+     */
+    @Autowired
+    public AlertDispatcher(List<AlertHandler> handlers) {
+        this.handlers = handlers;
+    }
+
+    /**
+     * Run every Alert Handler on Alert, stopping at the first failure
+     * @param alert Alert Message
+     * @throws RuntimeException Handler failure, rethrown so the Alert
+     * is not acknowledged
+     */
+    public void dispatch(Alert alert) {
+        for (AlertHandler handler : handlers) {
+            try {
+                handler.handle(alert);
+            } catch (RuntimeException e) {
+                log.warn("Alert handler {} failed on {}, the Alert will be redelivered",
+                        handler, alert, e);
+                throw e;
+            }
+        }
+    }
+}
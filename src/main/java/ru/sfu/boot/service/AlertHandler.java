@@ -0,0 +1,19 @@
+package ru.sfu.boot.service;
+
+import ru.sfu.boot.entity.Alert;
+
+/**
+ * Alert Handler Interface.
+ * Handlers are called on the consumer thread, one Alert at a time per
+ * Television, in the order the Alerts of that Television were sent.
+ * A handler that throws makes the Alert be redelivered, so the same
+ * Alert may be handled more than once.
+ * @author Agapchenko V.V.
+ */
+public interface AlertHandler {
+    /**
+     * Process consumed Alert
+     * @param alert Alert Message
+     */
+    void handle(Alert alert);
+}
@@ -1,25 +1,100 @@
 package ru.sfu.boot.service;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.PropertySource;
 import org.springframework.jms.annotation.JmsListener;
+import org.springframework.jms.support.JmsHeaders;
+import org.springframework.messaging.handler.annotation.Header;
 import org.springframework.stereotype.Component;
 import ru.sfu.boot.entity.Alert;
 
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 /**
- * Java Message Service Listener
+ * Java Message Service Listener.
+ * Runs a configurable range of concurrent consumers; Alerts are grouped
+ * by Television ID (JMSXGroupID), so the broker delivers all Alerts of
+ * one Television to the same consumer, in order. Alerts are handled on
+ * the consumer thread within the listener session transaction, so they
+ * are acknowledged only once handled.
+ * <p>
+ * The outbox relay delivers at-least-once, so an Alert may arrive again
+ * after it was handled. Outbox IDs of one Television grow in send order,
+ * so an Alert whose outbox ID is not above the last one handled for its
+ * Television is a duplicate and is dropped. Duplicates are only detected
+ * while the group stays on this node.
  * @author Agapchenko V.V.
  */
 @Component
 @PropertySource("classpath:application.properties")
 public class AlertListener {
 
+    private final AlertDispatcher dispatcher;
+    private final Timer lag;
+    private final Map<Alert.Action, Counter> consumed = new EnumMap<>(Alert.Action.class);
+    private final Counter duplicates;
+    /**
+     * Outbox ID of the last handled Alert by Television ID; a group is
+     * consumed by one thread at a time
+     */
+    private final Map<Integer, Long> lastOutboxIds = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor
+     * @param dispatcher Alert Dispatcher
+     * @param registry Meter Registry
+     */
+    @Autowired
+    public AlertListener(AlertDispatcher dispatcher, MeterRegistry registry) {
+        this.dispatcher = dispatcher;
+        this.lag = Timer.builder("alerts.consume.lag")
+                .description("Time from send to consumption of an Alert")
+                .register(registry);
+        for (Alert.Action action : Alert.Action.values()) {
+            consumed.put(action, Counter.builder("alerts.consumed")
+                    .description("Alerts consumed from the queue")
+                    .tag("action", action.name())
+                    .register(registry));
+        }
+        this.duplicates = Counter.builder("alerts.consumed.duplicates")
+                .description("Redelivered Alerts dropped by outbox ID")
+                .register(registry);
+    }
+
     /**
      * Get + process message from Queue
      * @param alert Message from Queue
+     * @param timestamp Send time of message
+     * @param outboxId Outbox ID of relayed message or null
      */
 //    @JmsListener(destination = "${queue.television-queue}")
-    @JmsListener(destination = "${spring.artemis.embedded.queues}")
-    public void listenMethod(Alert alert) {
-        System.out.println(alert);
+    @JmsListener(
+            destination = "${spring.artemis.embedded.queues}",
+            concurrency = "${alert.listener.concurrency}"
+    )
+    public void listenMethod(
+            Alert alert,
+            @Header(JmsHeaders.TIMESTAMP) long timestamp,
+            @Header(name = AlertServiceImpl.OUTBOX_ID_PROPERTY, required = false) Long outboxId
+    ) {
+        if (outboxId != null) {
+            Long last = lastOutboxIds.get(alert.getTelevisionId());
+            if (last != null && outboxId <= last) {
+                duplicates.increment();
+                return;
+            }
+        }
+        lag.record(Duration.ofMillis(Math.max(System.currentTimeMillis() - timestamp, 0)));
+        consumed.get(alert.getAction()).increment();
+        dispatcher.dispatch(alert);
+        if (outboxId != null) {
+            lastOutboxIds.put(alert.getTelevisionId(), outboxId);
+        }
     }
 }
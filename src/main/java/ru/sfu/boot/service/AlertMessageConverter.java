@@ -0,0 +1,75 @@
+package ru.sfu.boot.service;
+
+import jakarta.jms.BytesMessage;
+import jakarta.jms.JMSException;
+import jakarta.jms.Message;
+import jakarta.jms.Session;
+import org.springframework.jms.support.converter.MessageConversionException;
+import org.springframework.jms.support.converter.MessageConverter;
+import ru.sfu.boot.entity.Alert;
+
+/**
+ * JMS Message Converter sending Alerts as compact binary BytesMessages
+ * @author Agapchenko V.V.
+ */
+public class AlertMessageConverter implements MessageConverter {
+
+    /**
+     * JMS type of binary Alert messages
+     */
+    public static final String JMS_TYPE = "alert/v1";
+
+    private static final ThreadLocal<AlertCodec.Buffer> BUFFER =
+            ThreadLocal.withInitial(AlertCodec.Buffer::new);
+    private static final ThreadLocal<byte[][]> INPUT =
+            ThreadLocal.withInitial(() -> new byte[][] {new byte[256]});
+
+    /**
+     * Encode Alert into BytesMessage using a thread-local buffer
+     * @param object Alert Message
+     * @param session JMS Session
+     * @return Bytes Message
+     * @throws JMSException Message creation error
+     */
+    @Override
+    public Message toMessage(Object object, Session session) throws JMSException {
+        if (!(object instanceof Alert alert)) {
+            throw new MessageConversionException(
+                    "Cannot convert " + object.getClass().getName() + " to alert message"
+            );
+        }
+        AlertCodec.Buffer buffer = BUFFER.get();
+        AlertCodec.encode(alert, buffer);
+
+        BytesMessage message = session.createBytesMessage();
+        message.writeBytes(buffer.bytes(), 0, buffer.length());
+        message.setJMSType(JMS_TYPE);
+        return message;
+    }
+
+    /**
+     * Decode Alert from BytesMessage
+     * @param message JMS Message
+     * @return Alert Message
+     * @throws JMSException Message reading error
+     */
+    @Override
+    public Object fromMessage(Message message) throws JMSException {
+        if (message instanceof BytesMessage bytesMessage) {
+            int length = (int) bytesMessage.getBodyLength();
+            byte[][] holder = INPUT.get();
+            if (holder[0].length < length) {
+                holder[0] = new byte[length];
+            }
+            bytesMessage.readBytes(holder[0], length);
+            try {
+                return AlertCodec.decode(holder[0], length);
+            } catch (IllegalArgumentException e) {
+                throw new MessageConversionException("Cannot decode alert message", e);
+            }
+        }
+        throw new MessageConversionException(
+                "Unsupported alert message " + message.getClass().getName()
+        );
+    }
+}
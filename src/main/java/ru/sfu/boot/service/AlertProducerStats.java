@@ -0,0 +1,146 @@
+package ru.sfu.boot.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Send latency and batch size distributions of the Alert producer
+ * @author Agapchenko V.V.
+ */
+@Component
+public class AlertProducerStats {
+
+    private final Histogram latency = new Histogram();
+    private final Histogram batchSize = new Histogram();
+
+    private final Timer sendTimer;
+    private final DistributionSummary batchSummary;
+    private final Counter sent;
+    private final Counter failed;
+
+    /**
+     * Constructor
+     * @param registry Meter Registry
+     */
+    @Autowired
+    public AlertProducerStats(MeterRegistry registry) {
+        sendTimer = Timer.builder("alerts.send")
+                .description("Time to send one Alert batch")
+                .register(registry);
+        batchSummary = DistributionSummary.builder("alerts.send.batch.size")
+                .description("Number of Alerts per sent batch")
+                .register(registry);
+        sent = Counter.builder("alerts.sent")
+                .description("Alerts sent to the queue")
+                .register(registry);
+        failed = Counter.builder("alerts.send.failed")
+                .description("Alerts in batches that failed to send")
+                .register(registry);
+    }
+
+    /**
+     * Record one sent batch
+     * @param size Number of Alerts in batch
+     * @param nanos Time spent sending batch
+     */
+    public void record(int size, long nanos) {
+        batchSize.record(size);
+        latency.record(nanos / 1000);
+        sendTimer.record(nanos, TimeUnit.NANOSECONDS);
+        batchSummary.record(size);
+        sent.increment(size);
+    }
+
+    /**
+     * Record one batch that failed to send
+     * @param size Number of Alerts in batch
+     */
+    public void recordFailure(int size) {
+        failed.increment(size);
+    }
+
+    /**
+     * Get send latency distribution in microseconds
+     * @return Distribution summary
+     */
+    public Map<String, Long> getLatencyMicros() {
+        return latency.summary();
+    }
+
+    /**
+     * Get batch size distribution
+     * @return Distribution summary
+     */
+    public Map<String, Long> getBatchSize() {
+        return batchSize.summary();
+    }
+
+    /**
+     * Lock-free histogram with power-of-two buckets.
+     * Percentiles are reported as bucket upper bounds.
+     */
+    static class Histogram {
+        private final LongAdder[] buckets = new LongAdder[64];
+        private final LongAdder count = new LongAdder();
+        private final LongAdder sum = new LongAdder();
+
+        Histogram() {
+            for (int i = 0; i < buckets.length; i++) {
+                buckets[i] = new LongAdder();
+            }
+        }
+
+        /**
+         * Record value
+         * @param value Non-negative value
+         */
+        void record(long value) {
+            buckets[64 - Long.numberOfLeadingZeros(Math.max(value, 0))].increment();
+            count.increment();
+            sum.add(value);
+        }
+
+        /**
+         * Summarize distribution
+         * @return Count, mean, p50, p90, p99 and max
+         */
+        Map<String, Long> summary() {
+            long[] counts = new long[buckets.length];
+            long total = 0;
+            for (int i = 0; i < counts.length; i++) {
+                counts[i] = buckets[i].sum();
+                total += counts[i];
+            }
+
+            Map<String, Long> summary = new LinkedHashMap<>();
+            summary.put("count", total);
+            summary.put("mean", total == 0 ? 0 : sum.sum() / total);
+            summary.put("p50", percentile(counts, total, 0.50));
+            summary.put("p90", percentile(counts, total, 0.90));
+            summary.put("p99", percentile(counts, total, 0.99));
+            summary.put("max", percentile(counts, total, 1.0));
+            return summary;
+        }
+
+        private static long percentile(long[] counts, long total, double p) {
+            long rank = (long) Math.ceil(total * p);
+            long seen = 0;
+            for (int i = 0; i < counts.length; i++) {
+                seen += counts[i];
+                if (seen >= rank && seen > 0) {
+                    return i == 0 ? 0 : (1L << i) - 1;
+                }
+            }
+            return 0;
+        }
+    }
+}
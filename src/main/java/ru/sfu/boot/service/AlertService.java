@@ -3,6 +3,8 @@ package ru.sfu.boot.service;
 import org.springframework.stereotype.Component;
 import ru.sfu.boot.entity.Alert;
 
+import java.util.List;
+
 /**
  * Alert Service Interface
  * @author Agapchenko V.V.
@@ -15,6 +17,12 @@ public interface AlertService {
      */
     void sendAlert(Alert alert);
 
+    /**
+     * Send Messages to Queue as one batch
+     * @param alerts Alert Messages
+     */
+    void sendAlerts(List<Alert> alerts);
+
     /**
      * Get Message from Queue using JMS Template
      * @return Alert Message
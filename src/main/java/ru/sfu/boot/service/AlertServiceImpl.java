@@ -1,53 +1,166 @@
 package ru.sfu.boot.service;
 
-import jakarta.jms.JMSException;
-import jakarta.jms.ObjectMessage;
+import jakarta.jms.ConnectionFactory;
+import jakarta.jms.Destination;
+import jakarta.jms.Message;
+import jakarta.jms.MessageProducer;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.context.annotation.PropertySource;
+import org.springframework.boot.autoconfigure.jms.JmsProperties;
 import org.springframework.jms.core.JmsTemplate;
-import org.springframework.jms.support.JmsUtils;
+import org.springframework.jms.support.converter.MessageConverter;
 import org.springframework.stereotype.Service;
 import ru.sfu.boot.entity.Alert;
+import ru.sfu.boot.entity.OutboxAlert;
+
+import java.util.List;
 
 /**
- * Alert Service
+ * Alert Service sending Alerts straight to Queue.
+ * Every call is sent over a cached session and producer in one JMS
+ * transaction; {@link OutboxRelay} batches committed outbox Alerts into
+ * such calls. Alerts are grouped by Television ID to keep them ordered
+ * across concurrent consumers.
  * @author Agapchenko V.V.
  */
 @Service
 public class AlertServiceImpl implements AlertService {
+
+    /**
+     * JMS message group property; Alerts of one Television share a group
+     */
+    static final String GROUP_ID_PROPERTY = "JMSXGroupID";
+    /**
+     * JMS property with the outbox ID of a relayed Alert
+     */
+    static final String OUTBOX_ID_PROPERTY = "outboxId";
+
     private final JmsTemplate jmsTemplate;
+    private final AlertProducerStats stats;
 
     /**
-     * Constructor
-     * @param jmsTemplate JMS Template
+     * Constructor.
+     * Builds own transacted JMS Template from 'spring.jms.template.*',
+     * leaving the shared one untouched.
+     * @param connectionFactory JMS Connection Factory
+     * @param alertMessageConverter Alert message converter
+     * @param properties JMS properties
+     * @param stats Producer statistics
      */
     @Autowired
-    public AlertServiceImpl(JmsTemplate jmsTemplate) {
-        this.jmsTemplate = jmsTemplate;
+    public AlertServiceImpl(
+            ConnectionFactory connectionFactory,
+            MessageConverter alertMessageConverter,
+            JmsProperties properties,
+            AlertProducerStats stats
+    ) {
+        JmsProperties.Template template = properties.getTemplate();
+        this.jmsTemplate = new JmsTemplate(connectionFactory);
+        this.jmsTemplate.setSessionTransacted(true);
+        this.jmsTemplate.setMessageConverter(alertMessageConverter);
+        this.jmsTemplate.setDefaultDestinationName(template.getDefaultDestination());
+        if (template.getReceiveTimeout() != null) {
+            this.jmsTemplate.setReceiveTimeout(template.getReceiveTimeout().toMillis());
+        }
+        if (template.determineQosEnabled()) {
+            this.jmsTemplate.setExplicitQosEnabled(true);
+            if (template.getDeliveryMode() != null) {
+                this.jmsTemplate.setDeliveryMode(template.getDeliveryMode().getValue());
+            }
+            if (template.getPriority() != null) {
+                this.jmsTemplate.setPriority(template.getPriority());
+            }
+            if (template.getTimeToLive() != null) {
+                this.jmsTemplate.setTimeToLive(template.getTimeToLive().toMillis());
+            }
+        }
+        this.stats = stats;
     }
 
     /**
-     * Send Message to Queue using JMS Template
+     * Send Message to Queue
      * @param alert Alert Message
      */
     @Override
     public void sendAlert(Alert alert) {
-        jmsTemplate.send(
-                session -> session.createObjectMessage(alert)
+        sendAlerts(List.of(alert));
+    }
+
+    /**
+     * Send Messages to Queue as one JMS transaction using cached
+     * session and producer; failed batches are counted and rethrown
+     * @param alerts Alert Messages
+     */
+    @Override
+    public void sendAlerts(List<Alert> alerts) {
+        send(alerts, null);
+    }
+
+    /**
+     * Send outbox Alerts to Queue as one JMS transaction, each tagged with
+     * its outbox ID
+     * @param batch Outbox Alerts
+     */
+    public void sendOutboxAlerts(List<OutboxAlert> batch) {
+        send(
+                batch.stream().map(OutboxAlert::toAlert).toList(),
+                batch.stream().mapToLong(OutboxAlert::getId).toArray()
         );
     }
 
+    /**
+     * Send Messages to Queue as one JMS transaction
+     * @param alerts Alert Messages
+     * @param outboxIds Outbox IDs of Alerts or null
+     */
+    private void send(List<Alert> alerts, long[] outboxIds) {
+        if (alerts.isEmpty())
+            return;
+
+        long start = System.nanoTime();
+        try {
+            MessageConverter converter = jmsTemplate.getMessageConverter();
+            jmsTemplate.execute(session -> {
+                Destination queue = session.createQueue(jmsTemplate.getDefaultDestinationName());
+                MessageProducer producer = session.createProducer(queue);
+                try {
+                    if (jmsTemplate.isExplicitQosEnabled()) {
+                        producer.setDeliveryMode(jmsTemplate.getDeliveryMode());
+                        producer.setPriority(jmsTemplate.getPriority());
+                        producer.setTimeToLive(jmsTemplate.getTimeToLive());
+                    }
+                    for (int i = 0; i < alerts.size(); i++) {
+                        Alert alert = alerts.get(i);
+                        Message message = converter.toMessage(alert, session);
+                        message.setStringProperty(
+                                GROUP_ID_PROPERTY,
+                                String.valueOf(alert.getTelevisionId())
+                        );
+                        if (outboxIds != null) {
+                            message.setLongProperty(OUTBOX_ID_PROPERTY, outboxIds[i]);
+                        }
+                        producer.send(message);
+                    }
+                    if (session.getTransacted()) {
+                        session.commit();
+                    }
+                } finally {
+                    producer.close();
+                }
+                return null;
+            }, true);
+        } catch (RuntimeException e) {
+            stats.recordFailure(alerts.size());
+            throw e;
+        }
+        stats.record(alerts.size(), System.nanoTime() - start);
+    }
+
     /**
      * Get Message from Queue using JMS Template
      * @return Alert Message
      */
     @Override
     public Alert getAlert() {
-        try {
-            ObjectMessage receivedMessage = (ObjectMessage) jmsTemplate.receive();
-            return (Alert) receivedMessage.getObject();
-        } catch (JMSException e) {
-            throw JmsUtils.convertJmsAccessException(e);
-        }
+        return (Alert) jmsTemplate.receiveAndConvert();
     }
 }
@@ -0,0 +1,218 @@
+package ru.sfu.boot.service;
+
+import jakarta.annotation.PreDestroy;
+import jakarta.jms.BytesMessage;
+import jakarta.jms.ConnectionFactory;
+import jakarta.jms.JMSException;
+import jakarta.jms.Message;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jms.annotation.JmsListener;
+import org.springframework.jms.core.JmsTemplate;
+import org.springframework.stereotype.Component;
+import ru.sfu.boot.index.TelevisionIndexes;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Broadcasts Television cache invalidations to other nodes over JMS topic.
+ * Invalidations are called after commit, so they never wait for the broker:
+ * IDs are collected in a pending set and published by a background thread,
+ * many IDs per message. Publishing failures are logged and retried.
+ * @author Agapchenko V.V.
+ */
+@Component
+public class CacheInvalidationBroadcaster {
+    private static final Logger log = LoggerFactory.getLogger(CacheInvalidationBroadcaster.class);
+
+    /**
+     * Message property with sender node
+     */
+    static final String ORIGIN_PROPERTY = "origin";
+    /**
+     * Maximum number of Identification Numbers in one message
+     */
+    static final int MAX_IDS_PER_MESSAGE = 1024;
+    /**
+     * Delay before publishing again after a failure, ms
+     */
+    private static final long RETRY_DELAY_MS = 1000;
+
+    /**
+     * This node identifier, used to skip own invalidations
+     */
+    private final String node = UUID.randomUUID().toString();
+    private final TelevisionCache cache;
+    private final TelevisionIndexes indexes;
+    private final JmsTemplate topicTemplate;
+    /**
+     * Identification Numbers waiting to be published
+     */
+    private final Set<Integer> pending = ConcurrentHashMap.newKeySet();
+    /**
+     * Is a publishing task queued?
+     */
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+    private final ScheduledExecutorService publisher = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "cache-invalidation");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Constructor
+     * @param cache Television Cache
+     * @param indexes Television Indexes
+     * @param connectionFactory JMS Connection Factory
+     * @param topic Invalidation Topic
+     */
+    @Autowired
+    public CacheInvalidationBroadcaster(
+            TelevisionCache cache,
+            TelevisionIndexes indexes,
+            ConnectionFactory connectionFactory,
+            @Value("${spring.artemis.embedded.topics}") String topic
+    ) {
+        this.cache = cache;
+        this.indexes = indexes;
+        this.topicTemplate = new JmsTemplate(connectionFactory);
+        this.topicTemplate.setPubSubDomain(true);
+        this.topicTemplate.setDefaultDestinationName(topic);
+    }
+
+    /**
+     * Invalidate Television on this node and queue its broadcast to other
+     * nodes; never blocks on, nor fails because of, the broker
+     * @param id Identification Number
+     */
+    public void invalidate(int id) {
+        cache.evict(id);
+        pending.add(id);
+        schedule(0);
+    }
+
+    /**
+     * Invalidate Televisions on this node and queue their broadcast
+     * to other nodes, e.g. after a batch
+     * @param ids Identification Numbers
+     */
+    public void invalidate(int[] ids) {
+        cache.evictAll(ids);
+        for (int id : ids) {
+            pending.add(id);
+        }
+        schedule(0);
+    }
+
+    /**
+     * Get + process invalidations from other nodes.
+     * Besides evicting the cache, reloads indexed state of the Televisions
+     * by one query per message.
+     * @param message Invalidation message with Identification Numbers
+     * @throws JMSException Message access error
+     */
+    @JmsListener(
+            destination = "${spring.artemis.embedded.topics}",
+            containerFactory = "topicListenerFactory"
+    )
+    public void onInvalidation(Message message) throws JMSException {
+        if (node.equals(message.getStringProperty(ORIGIN_PROPERTY)))
+            return;
+        ByteBuffer body = ByteBuffer.wrap(message.getBody(byte[].class));
+        int[] ids = new int[body.remaining() / Integer.BYTES];
+        body.asIntBuffer().get(ids);
+        cache.evictAll(ids);
+        indexes.refresh(ids);
+    }
+
+    /**
+     * Publish queued invalidations before shutdown, as far as the broker allows
+     * @throws InterruptedException Interrupted while waiting for the publisher
+     */
+    @PreDestroy
+    void stop() throws InterruptedException {
+        publisher.execute(this::publish);
+        publisher.shutdown();
+        publisher.awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Queue publishing task unless one is already queued
+     * @param delayMs Delay, ms
+     */
+    private void schedule(long delayMs) {
+        if (scheduled.compareAndSet(false, true)) {
+            publisher.schedule(this::publish, delayMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Publish pending invalidations; on failure they are kept and retried.
+     * IDs queued while publishing schedule another run.
+     */
+    private void publish() {
+        scheduled.set(false);
+        int[] ids = drain();
+        int sent = 0;
+        try {
+            for (; sent < ids.length; sent += MAX_IDS_PER_MESSAGE) {
+                send(ids, sent, Math.min(ids.length, sent + MAX_IDS_PER_MESSAGE));
+            }
+        } catch (RuntimeException e) {
+            log.warn("Failed to broadcast {} cache invalidations, retrying in {} ms",
+                    ids.length - sent, RETRY_DELAY_MS, e);
+            for (int i = sent; i < ids.length; i++) {
+                pending.add(ids[i]);
+            }
+            schedule(RETRY_DELAY_MS);
+        }
+    }
+
+    /**
+     * Take all pending Identification Numbers
+     * @return Identification Numbers
+     */
+    private int[] drain() {
+        int[] ids = new int[Math.max(pending.size(), 16)];
+        int size = 0;
+        for (Iterator<Integer> it = pending.iterator(); it.hasNext(); ) {
+            int id = it.next();
+            it.remove();
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            ids[size++] = id;
+        }
+        return Arrays.copyOf(ids, size);
+    }
+
+    /**
+     * Send one invalidation message
+     * @param ids Identification Numbers
+     * @param from First index, inclusive
+     * @param to Last index, exclusive
+     */
+    private void send(int[] ids, int from, int to) {
+        ByteBuffer body = ByteBuffer.allocate((to - from) * Integer.BYTES);
+        for (int i = from; i < to; i++) {
+            body.putInt(ids[i]);
+        }
+        topicTemplate.send(session -> {
+            BytesMessage message = session.createBytesMessage();
+            message.writeBytes(body.array());
+            message.setStringProperty(ORIGIN_PROPERTY, node);
+            return message;
+        });
+    }
+}
@@ -0,0 +1,135 @@
+package ru.sfu.boot.service;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bounded concurrent map evicting approximately least recently used
+ * entries, and entries older than the given age.
+ * Reads only stamp the access time of their entry, so they never
+ * contend; once the map outgrows its bound, one writer evicts the
+ * least recently used tenth of it in one pass while others go on.
+ * @author Agapchenko V.V.
+ */
+final class ConcurrentLruMap<K, V> {
+
+    private final ConcurrentHashMap<K, Entry<V>> map = new ConcurrentHashMap<>();
+    private final int maxSize;
+    private final long maxAgeNanos;
+    /**
+     * Held by the writer that evicts
+     */
+    private final ReentrantLock eviction = new ReentrantLock();
+
+    /**
+     * Cached value with its load and last access times
+     * @param <V> Value type
+     */
+    private static final class Entry<V> {
+        final V value;
+        final long loadedAt;
+        volatile long accessedAt;
+
+        Entry(V value, long now) {
+            this.value = value;
+            this.loadedAt = now;
+            this.accessedAt = now;
+        }
+    }
+
+    /**
+     * Constructor
+     * @param maxSize Maximum number of entries
+     * @param maxAgeNanos Maximum entry age since it was put, ns
+     */
+    ConcurrentLruMap(int maxSize, long maxAgeNanos) {
+        this.maxSize = maxSize;
+        this.maxAgeNanos = maxAgeNanos;
+    }
+
+    /**
+     * Get value, dropping it if expired
+     * @param key Key
+     * @return Value or null
+     */
+    V get(K key) {
+        Entry<V> entry = map.get(key);
+        if (entry == null) {
+            return null;
+        }
+        long now = System.nanoTime();
+        if (now - entry.loadedAt > maxAgeNanos) {
+            map.remove(key, entry);
+            return null;
+        }
+        entry.accessedAt = now;
+        return entry.value;
+    }
+
+    /**
+     * Put value, evicting least recently used entries if the map is full
+     * @param key Key
+     * @param value Value
+     */
+    void put(K key, V value) {
+        map.put(key, new Entry<>(value, System.nanoTime()));
+        if (map.size() > maxSize) {
+            evict();
+        }
+    }
+
+    /**
+     * Remove value
+     * @param key Key
+     */
+    void remove(K key) {
+        map.remove(key);
+    }
+
+    /**
+     * Remove all values
+     */
+    void clear() {
+        map.clear();
+    }
+
+    /**
+     * Get number of entries, including expired ones not dropped yet
+     * @return Entries count
+     */
+    int size() {
+        return map.size();
+    }
+
+    /**
+     * Evict expired entries and entries accessed before the most recently
+     * used nine tenths of the bound; skipped if another writer evicts
+     */
+    private void evict() {
+        if (!eviction.tryLock()) {
+            return;
+        }
+        try {
+            long now = System.nanoTime();
+            long[] accessed = new long[map.size()];
+            int count = 0;
+            for (Entry<V> entry : map.values()) {
+                if (count == accessed.length) {
+                    break;
+                }
+                accessed[count++] = entry.accessedAt - now;
+            }
+            int keep = maxSize - maxSize / 10;
+            if (count <= keep) {
+                return;
+            }
+            Arrays.sort(accessed, 0, count);
+            long cutoff = accessed[count - keep] + now;
+            map.values().removeIf(entry -> entry.accessedAt - cutoff < 0
+                    || now - entry.loadedAt > maxAgeNanos);
+        } finally {
+            eviction.unlock();
+        }
+    }
+}
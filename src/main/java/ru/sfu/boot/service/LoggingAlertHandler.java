@@ -0,0 +1,24 @@
+package ru.sfu.boot.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import ru.sfu.boot.entity.Alert;
+
+/**
+ * Alert Handler writing Alerts to the application log
+ * @author Agapchenko V.V.
+ */
+@Component
+public class LoggingAlertHandler implements AlertHandler {
+    private static final Logger log = LoggerFactory.getLogger(LoggingAlertHandler.class);
+
+    /**
+     * Log consumed Alert
+     * @param alert Alert Message
+     */
+    @Override
+    public void handle(Alert alert) {
+        log.info("{}", alert);
+    }
+}
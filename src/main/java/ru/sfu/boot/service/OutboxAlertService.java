@@ -0,0 +1,65 @@
+package ru.sfu.boot.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import ru.sfu.boot.entity.Alert;
+import ru.sfu.boot.entity.OutboxAlert;
+import ru.sfu.boot.repository.AlertOutboxRepository;
+
+import java.util.List;
+
+/**
+ * Alert Service writing Alerts to the transactional outbox.
+ * Alerts are stored in the caller's transaction and relayed
+ * to Queue by {@link OutboxRelay} after commit.
+ * @author Agapchenko V.V.
+ */
+@Primary
+@Service
+public class OutboxAlertService implements AlertService {
+    private final AlertOutboxRepository outbox;
+    private final AlertServiceImpl jms;
+
+    /**
+     * Constructor
+     * @param outbox Alert Outbox Repository
+     * @param jms JMS Alert Service
+     */
+    @Autowired
+    public OutboxAlertService(AlertOutboxRepository outbox, AlertServiceImpl jms) {
+        this.outbox = outbox;
+        this.jms = jms;
+    }
+
+    /**
+     * Store Message in outbox within current transaction
+     * @param alert Alert Message
+     */
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void sendAlert(Alert alert) {
+        outbox.save(new OutboxAlert(alert));
+    }
+
+    /**
+     * Store Messages in outbox within current transaction
+     * @param alerts Alert Messages
+     */
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void sendAlerts(List<Alert> alerts) {
+        outbox.saveAll(alerts.stream().map(OutboxAlert::new).toList());
+    }
+
+    /**
+     * Get Message from Queue using JMS Template
+     * @return Alert Message
+     */
+    @Override
+    public Alert getAlert() {
+        return jms.getAlert();
+    }
+}
@@ -0,0 +1,86 @@
+package ru.sfu.boot.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.sfu.boot.entity.OutboxAlert;
+import ru.sfu.boot.repository.AlertOutboxRepository;
+
+import java.util.List;
+
+/**
+ * Background publisher relaying committed outbox Alerts to Queue in batches.
+ * One relay runs at a time across all nodes, holding a PostgreSQL advisory
+ * lock, so batches go out in outbox ID order. Changes of one Television
+ * lock its row, so their outbox IDs follow their commit order, and its
+ * Alerts are sent in that order.
+ * <p>
+ * The JMS transaction commits before the outbox rows are deleted, so a
+ * failure in between sends the batch again: delivery is at-least-once and
+ * every message carries its outbox ID for consumers to drop duplicates.
+ * @author Agapchenko V.V.
+ */
+@Component
+public class OutboxRelay {
+    /**
+     * Advisory lock key of the relay, 'outbox' in ASCII
+     */
+    static final long RELAY_LOCK_KEY = 0x6f7574626f78L;
+
+    private final AlertOutboxRepository outbox;
+    private final AlertServiceImpl jms;
+    private final TransactionTemplate tx;
+    private final int batchSize;
+
+    /**
+     * Constructor
+     * @param outbox Alert Outbox Repository
+     * @param jms JMS Alert Service
+     * @param tx Transaction Template
+     * @param batchSize Maximum number of Alerts sent per batch
+     */
+    @Autowired
+    public OutboxRelay(
+            AlertOutboxRepository outbox,
+            AlertServiceImpl jms,
+            TransactionTemplate tx,
+            @Value("${alert.outbox.batch-size}") int batchSize
+    ) {
+        this.outbox = outbox;
+        this.jms = jms;
+        this.tx = tx;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Relay pending Alerts until the outbox is drained
+     */
+    @Scheduled(fixedDelayString = "${alert.outbox.poll-interval-ms}")
+    public void relay() {
+        Integer sent;
+        do {
+            sent = tx.execute(status -> relayBatch());
+        } while (sent != null && sent == batchSize);
+    }
+
+    /**
+     * Send one batch of Alerts and remove them from outbox.
+     * Nothing is sent while another relay holds the lock; if sending fails
+     * the transaction rolls back and the batch is retried.
+     * @return Number of relayed Alerts
+     */
+    private int relayBatch() {
+        if (!outbox.tryAdvisoryXactLock(RELAY_LOCK_KEY))
+            return 0;
+
+        List<OutboxAlert> batch = outbox.findOldest(batchSize);
+        if (batch.isEmpty())
+            return 0;
+
+        jms.sendOutboxAlerts(batch);
+        outbox.deleteAllInBatch(batch);
+        return batch.size();
+    }
+}
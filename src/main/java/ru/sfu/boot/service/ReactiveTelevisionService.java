@@ -0,0 +1,39 @@
+package ru.sfu.boot.service;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import ru.sfu.boot.entity.Television;
+
+/**
+ * Non-blocking Television Service Interface
+ * @author Agapchenko V.V.
+ */
+public interface ReactiveTelevisionService {
+    /**
+     * Get Television by ID
+     * @param id Identification Number
+     * @return Not sold Television or empty
+     */
+    Mono<Television> getById(int id);
+
+    /**
+     * Stream Televisions by Width + Height
+     * @param width Screen width
+     * @param height Screen height
+     * @return Televisions
+     */
+    Flux<Television> getByWidthAndHeight(int width, int height);
+
+    /**
+     * Stream Not Sold Televisions
+     * @return Televisions
+     */
+    Flux<Television> getNotSold();
+
+    /**
+     * Mark Television as Sold by ID
+     * @param id Identification Number
+     * @return Operation result: true - this caller sold it, false - not
+     */
+    Mono<Boolean> sell(int id);
+}
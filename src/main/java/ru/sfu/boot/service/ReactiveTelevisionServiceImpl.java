@@ -0,0 +1,90 @@
+package ru.sfu.boot.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import ru.sfu.boot.entity.Alert;
+import ru.sfu.boot.entity.Television;
+import ru.sfu.boot.index.TelevisionIndexes;
+import ru.sfu.boot.repository.ReactiveTelevisionRepository;
+
+/**
+ * Non-blocking Television Service
+ * @author Agapchenko V.V.
+ */
+@Service
+public class ReactiveTelevisionServiceImpl implements ReactiveTelevisionService {
+
+    private final ReactiveTelevisionRepository rep;
+    private final TelevisionIndexes indexes;
+    private final CacheInvalidationBroadcaster invalidation;
+
+    /**
+     * Constructor
+     * @param reactiveTelevisionRepository Reactive Television Repository
+     * @param televisionIndexes Television Indexes
+     * @param broadcaster Cache Invalidation Broadcaster
+     */
+    @Autowired
+    ReactiveTelevisionServiceImpl(
+            ReactiveTelevisionRepository reactiveTelevisionRepository,
+            TelevisionIndexes televisionIndexes,
+            CacheInvalidationBroadcaster broadcaster
+    ) {
+        rep = reactiveTelevisionRepository;
+        indexes = televisionIndexes;
+        invalidation = broadcaster;
+    }
+
+    /**
+     * Get Television by ID
+     * @param id Identification Number
+     * @return Not sold Television or empty
+     */
+    @Override
+    public Mono<Television> getById(int id) {
+        return rep.findById(id).filter(tv -> !tv.isSold());
+    }
+
+    /**
+     * Stream Televisions by Width + Height
+     * @param width Screen width
+     * @param height Screen height
+     * @return Televisions
+     */
+    @Override
+    public Flux<Television> getByWidthAndHeight(int width, int height) {
+        return rep.findByWidthAndHeight(width, height);
+    }
+
+    /**
+     * Stream Not Sold Televisions
+     * @return Televisions
+     */
+    @Override
+    public Flux<Television> getNotSold() {
+        return rep.findBySold(false);
+    }
+
+    /**
+     * Mark Television as Sold by ID.
+     * The conditional update and the outbox Alert are one statement;
+     * on success the servlet side caches and indexes are updated off
+     * the event loop.
+     * @param id Identification Number
+     * @return Operation result: true - this caller sold it, false - not
+     */
+    @Override
+    public Mono<Boolean> sell(int id) {
+        Alert alert = new Alert(Alert.Action.SELL, id);
+        alert.setSold(true);
+        return rep.markSold(id, AlertCodec.toBytes(alert))
+                .flatMap(version -> Mono.fromRunnable(() -> {
+                    indexes.markSold(id, version);
+                    invalidation.invalidate(id);
+                }).subscribeOn(Schedulers.boundedElastic()).thenReturn(true))
+                .defaultIfEmpty(false);
+    }
+}
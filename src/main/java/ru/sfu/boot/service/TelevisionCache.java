@@ -0,0 +1,243 @@
+package ru.sfu.boot.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import ru.sfu.boot.entity.Television;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+
+/**
+ * Bounded read-through near cache for Television reads.
+ * Lookups never take a shared lock; callers always get copies, so they
+ * may change returned Televisions without changing cached ones.
+ * Entries expire after a while, since invalidations from other nodes
+ * are published on a non-durable topic and are lost while this node
+ * is disconnected from the broker.
+ * @author Agapchenko V.V.
+ */
+@Component
+public class TelevisionCache {
+
+    /**
+     * Televisions by Identification Number
+     */
+    private final ConcurrentLruMap<Integer, Television> entities;
+    /**
+     * Query results (resolution lookups, unsold pages) by query key
+     */
+    private final ConcurrentLruMap<Object, List<Television>> queries;
+    /**
+     * Maximum number of IDs loaded by one loader call
+     */
+    private final int loadBatchSize;
+    /**
+     * Bumped on every invalidation before evicting; a load racing a write
+     * is put first and removed again if the generation moved meanwhile
+     */
+    private final AtomicLong generation = new AtomicLong();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * Constructor
+     * @param maxEntities Maximum number of cached Televisions
+     * @param maxQueries Maximum number of cached query results
+     * @param expireAfter Time after which a cached entry is loaded again
+     * @param loadBatchSize Maximum number of IDs loaded by one loader call
+     */
+    public TelevisionCache(
+            @Value("${tvs.cache.max-entities}") int maxEntities,
+            @Value("${tvs.cache.max-queries}") int maxQueries,
+            @Value("${tvs.cache.expire-after}") Duration expireAfter,
+            @Value("${tvs.stream.batch-size}") int loadBatchSize
+    ) {
+        entities = new ConcurrentLruMap<>(maxEntities, expireAfter.toNanos());
+        queries = new ConcurrentLruMap<>(maxQueries, expireAfter.toNanos());
+        this.loadBatchSize = loadBatchSize;
+    }
+
+    /**
+     * Get Television by ID, loading it on miss
+     * @param id Identification Number
+     * @param loader Loader used on miss
+     * @return Copy of Television or null
+     */
+    public Television getById(int id, IntFunction<Optional<Television>> loader) {
+        Television tv = entities.get(id);
+        if (tv != null) {
+            hits.increment();
+            return tv.copy();
+        }
+        misses.increment();
+
+        long loadedAt = generation.get();
+        tv = loader.apply(id).orElse(null);
+        if (tv != null) {
+            entities.put(id, tv.copy());
+            if (generation.get() != loadedAt) {
+                entities.remove(id);
+            }
+        }
+        return tv;
+    }
+
+    /**
+     * Get Televisions by IDs, loading missing ones a batch at a time,
+     * so a large lookup stays within the bind parameter limit of one query
+     * @param ids Identification Numbers
+     * @param loader Loader used for missing IDs
+     * @return Copies of found Televisions in order of IDs
+     */
+    public List<Television> getAllById(
+            int[] ids,
+            Function<List<Integer>, List<Television>> loader
+    ) {
+        Television[] found = new Television[ids.length];
+        List<Integer> missing = new ArrayList<>();
+        for (int i = 0; i < ids.length; i++) {
+            Television tv = entities.get(ids[i]);
+            if (tv == null) {
+                missing.add(ids[i]);
+            } else {
+                found[i] = tv.copy();
+            }
+        }
+        hits.add(ids.length - missing.size());
+        misses.add(missing.size());
+
+        if (!missing.isEmpty()) {
+            long loadedAt = generation.get();
+            Map<Integer, Television> loaded = new HashMap<>();
+            for (int from = 0; from < missing.size(); from += loadBatchSize) {
+                loader.apply(missing.subList(from, Math.min(from + loadBatchSize, missing.size())))
+                        .forEach(tv -> loaded.put(tv.getId(), tv));
+            }
+            loaded.forEach((id, tv) -> entities.put(id, tv.copy()));
+            if (generation.get() != loadedAt) {
+                loaded.keySet().forEach(entities::remove);
+            }
+            for (int i = 0; i < ids.length; i++) {
+                if (found[i] == null) {
+                    found[i] = loaded.get(ids[i]);
+                }
+            }
+        }
+
+        List<Television> tvs = new ArrayList<>(ids.length);
+        for (Television tv : found) {
+            if (tv != null) {
+                tvs.add(tv);
+            }
+        }
+        return tvs;
+    }
+
+    /**
+     * Get query result by key, loading it on miss
+     * @param key Query key
+     * @param loader Loader used on miss
+     * @return Copies of Televisions
+     */
+    public List<Television> getQuery(Object key, Supplier<List<Television>> loader) {
+        List<Television> tvs = queries.get(key);
+        if (tvs != null) {
+            hits.increment();
+            return copy(tvs);
+        }
+        misses.increment();
+
+        long loadedAt = generation.get();
+        tvs = loader.get();
+        queries.put(key, copy(tvs));
+        if (generation.get() != loadedAt) {
+            queries.remove(key);
+        }
+        return tvs;
+    }
+
+    /**
+     * Get cached Television by ID without loading it on miss
+     * @param id Identification Number
+     * @return Copy of cached Television or null
+     */
+    public Television peekById(int id) {
+        Television tv = entities.get(id);
+        return tv == null ? null : tv.copy();
+    }
+
+    /**
+     * Get cached query result by key without loading it on miss
+     * @param key Query key
+     * @return Copies of cached Televisions or null
+     */
+    public List<Television> peekQuery(Object key) {
+        List<Television> tvs = queries.get(key);
+        return tvs == null ? null : copy(tvs);
+    }
+
+    /**
+     * Evict Television and every cached query result
+     * @param id Identification Number
+     */
+    public void evict(int id) {
+        generation.incrementAndGet();
+        entities.remove(id);
+        queries.clear();
+    }
+
+    /**
+     * Evict Televisions and every cached query result
+     * @param ids Identification Numbers
+     */
+    public void evictAll(int[] ids) {
+        generation.incrementAndGet();
+        for (int id : ids) {
+            entities.remove(id);
+        }
+        queries.clear();
+    }
+
+    /**
+     * Get number of cache hits
+     * @return Hits count
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * Get number of cache misses
+     * @return Misses count
+     */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * Get number of cached entries
+     * @return Entries count
+     */
+    public int getSize() {
+        return entities.size() + queries.size();
+    }
+
+    /**
+     * Copy Televisions into an unmodifiable list
+     * @param tvs Televisions
+     * @return Copies
+     */
+    private static List<Television> copy(List<Television> tvs) {
+        return tvs.stream().map(Television::copy).toList();
+    }
+}
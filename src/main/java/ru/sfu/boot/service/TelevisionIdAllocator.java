@@ -0,0 +1,85 @@
+package ru.sfu.boot.service;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import ru.sfu.boot.repository.TelevisionRepository;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Allocates Television IDs in blocks reserved from the database
+ * sequence. One sequence call reserves a whole block, which is then
+ * handed out from memory; blocks never overlap, so nodes sharing the
+ * database never hand out the same ID. IDs of a block left unused on
+ * shutdown are skipped.
+ * <p>
+ * The block size must equal the sequence increment, which is checked at
+ * startup. A {@link ReentrantLock} rather than a monitor guards the block,
+ * so a virtual thread waiting for the sequence does not pin its carrier.
+ * @author Agapchenko V.V.
+ */
+@Component
+public class TelevisionIdAllocator {
+
+    private final TelevisionRepository rep;
+    private final int blockSize;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /**
+     * Next ID to hand out, guarded by lock
+     */
+    private int next;
+    /**
+     * End of current block (exclusive), guarded by lock
+     */
+    private int limit;
+
+    /**
+     * Constructor
+     * @param televisionRepository Television Repository
+     * @param blockSize Number of IDs reserved at once, the sequence increment
+     */
+    public TelevisionIdAllocator(
+            TelevisionRepository televisionRepository,
+            @Value("${tvs.id.block-size}") int blockSize
+    ) {
+        if (blockSize <= 0) {
+            throw new IllegalArgumentException("ID block size must be positive, got " + blockSize);
+        }
+        rep = televisionRepository;
+        this.blockSize = blockSize;
+    }
+
+    /**
+     * Check that the block size equals the sequence increment, otherwise
+     * blocks of different nodes overlap or IDs are skipped
+     * @throws IllegalStateException if they differ
+     */
+    @PostConstruct
+    void checkBlockSize() {
+        long increment = rep.findIdSequenceIncrement()
+                .orElseThrow(() -> new IllegalStateException("Sequence televisions_id_seq not found"));
+        if (increment != blockSize) {
+            throw new IllegalStateException("tvs.id.block-size is " + blockSize
+                    + ", but televisions_id_seq increments by " + increment);
+        }
+    }
+
+    /**
+     * Get next free ID, reserving a new block when the current one is used up
+     * @return Identification Number
+     */
+    public int next() {
+        lock.lock();
+        try {
+            if (next == limit) {
+                next = Math.toIntExact(rep.reserveIdBlock());
+                limit = next + blockSize;
+            }
+            return next++;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -1,8 +1,12 @@
 package ru.sfu.boot.service;
 
+import ru.sfu.boot.entity.ResolutionRange;
 import ru.sfu.boot.entity.Television;
+import ru.sfu.boot.entity.TelevisionFacets;
+import ru.sfu.boot.entity.TelevisionVersion;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Television Service Interface
@@ -22,12 +26,6 @@ public interface TelevisionService {
      */
     Television getById(int id);
 
-    /**
-     * Get last ID
-     * @return Last ID
-     */
-    int getLastId();
-
     /**
      * Get Televisions by Width + Height
      * @param width Screen width
@@ -37,15 +35,50 @@ public interface TelevisionService {
     List<Television> getByWidthAndHeight(int width, int height);
 
     /**
-     * Create new Television
+     * Get a page of Not Sold Televisions with resolution in range
+     * @param range Resolution range
+     * @param after Exclusive lower bound of Identification Number (cursor)
+     * @param limit Maximum page size
+     * @return List of Televisions ordered by ID
+     */
+    List<Television> getNotSoldInRange(ResolutionRange range, int after, int limit);
+
+    /**
+     * Search Not Sold Televisions by model and producer, matching query
+     * words by prefix and tolerating typos
+     * @param query Search query
+     * @param limit Maximum number of results
+     * @return List of Televisions, most relevant first
+     */
+    List<Television> search(String query, int limit);
+
+    /**
+     * Count Not Sold Televisions by producer, production country
+     * and resolution
+     * @return Television facets
+     */
+    TelevisionFacets getFacets();
+
+    /**
+     * Create new Television; ID 0 is replaced with an allocated one
      * @param tv New Television
      * @return Operation result
      */
     boolean create(Television tv);
 
     /**
-     * Update Television
-     * @param tv Existing Television
+     * Create new Televisions in bulk, skipping taken IDs;
+     * ID 0 is replaced with an allocated one
+     * @param tvs New Televisions
+     * @return Created Televisions
+     */
+    List<Television> createAll(List<Television> tvs);
+
+    /**
+     * Update Television if it has not changed since it was read;
+     * a Television with {@link Television#ANY_VERSION} is updated
+     * whatever its version
+     * @param tv Existing Television with the version it was read at
      * @return Operation result
      */
     boolean update(Television tv);
@@ -63,6 +96,38 @@ public interface TelevisionService {
      */
     List<Television> getNotSold();
 
+    /**
+     * Get page of Not Sold Televisions after given ID
+     * @param after Exclusive lower bound of Identification Number (cursor)
+     * @param limit Maximum page size
+     * @return List of Televisions ordered by ID
+     */
+    List<Television> getNotSold(int after, int limit);
+
+    /**
+     * Get version of Not Sold Television without loading it when possible
+     * @param id Identification Number
+     * @return Television version or null
+     */
+    TelevisionVersion getVersion(int id);
+
+    /**
+     * Get versions of a page of Not Sold Televisions after given ID
+     * without loading them when possible
+     * @param after Exclusive lower bound of Identification Number (cursor)
+     * @param limit Maximum page size
+     * @return Television versions ordered by ID
+     */
+    List<TelevisionVersion> getNotSoldVersions(int after, int limit);
+
+    /**
+     * Walk Not Sold Televisions after given ID in pages of fixed size
+     * @param after Exclusive lower bound of Identification Number (cursor)
+     * @param batchSize Page size fetched per query
+     * @param action Action applied to every Television
+     */
+    void forEachNotSold(int after, int batchSize, Consumer<Television> action);
+
     /**
      * Mark Television as Sold by ID
      * @param id Identification Number
@@ -1,13 +1,32 @@
 package ru.sfu.boot.service;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import ru.sfu.boot.entity.Alert;
+import ru.sfu.boot.entity.ResolutionRange;
 import ru.sfu.boot.entity.Television;
+import ru.sfu.boot.entity.TelevisionFacets;
+import ru.sfu.boot.entity.TelevisionVersion;
+import ru.sfu.boot.index.FacetIndex;
+import ru.sfu.boot.index.ResolutionIndex;
+import ru.sfu.boot.index.SearchIndex;
+import ru.sfu.boot.index.TelevisionIndexes;
 import ru.sfu.boot.repository.TelevisionRepository;
 
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 
 /**
  * Television Service
@@ -16,21 +35,58 @@ import java.util.Optional;
 @Service
 public class TelevisionServiceImpl implements TelevisionService {
 
+    /**
+     * Maximum number of Televisions inserted by one statement
+     */
+    private static final int INSERT_CHUNK = 1000;
+    /**
+     * Page size used to count facets before indexes are built
+     */
+    private static final int FACET_PAGE_SIZE = 1000;
+
     private final TelevisionRepository rep;
     private final AlertService alert;
+    private final TelevisionCache cache;
+    private final CacheInvalidationBroadcaster invalidation;
+    private final TelevisionIndexes indexes;
+    private final ResolutionIndex resolutions;
+    private final SearchIndex search;
+    private final FacetIndex facets;
+    private final TelevisionIdAllocator idAllocator;
 
     /**
      * Constructor
      * @param televisionRepository Television Repository
      * @param alertService Alert Service
+     * @param televisionCache Television Cache
+     * @param broadcaster Cache Invalidation Broadcaster
+     * @param televisionIndexes Television Indexes
+     * @param resolutionIndex Width + Height Index
+     * @param searchIndex Model + Producer Search Index
+     * @param facetIndex Facet Counts Index
+     * @param televisionIdAllocator Television ID Allocator
      */
     @Autowired
     TelevisionServiceImpl(
             TelevisionRepository televisionRepository,
-            AlertService alertService
+            AlertService alertService,
+            TelevisionCache televisionCache,
+            CacheInvalidationBroadcaster broadcaster,
+            TelevisionIndexes televisionIndexes,
+            ResolutionIndex resolutionIndex,
+            SearchIndex searchIndex,
+            FacetIndex facetIndex,
+            TelevisionIdAllocator televisionIdAllocator
     ) {
         rep = televisionRepository;
         alert = alertService;
+        cache = televisionCache;
+        invalidation = broadcaster;
+        indexes = televisionIndexes;
+        resolutions = resolutionIndex;
+        search = searchIndex;
+        facets = facetIndex;
+        idAllocator = televisionIdAllocator;
     }
 
     /**
@@ -49,87 +105,249 @@ public class TelevisionServiceImpl implements TelevisionService {
      */
     @Override
     public Television getById(int id) {
-        return rep.findById(id).map(tv -> {
-            if (tv.isSold())
-                return null;
-            return tv;
-        }).orElse(null);
+        Television tv = cache.getById(id, rep::findById);
+        if (tv == null || tv.isSold())
+            return null;
+        return tv;
+    }
+
+    /**
+     * Get Televisions by Width + Height.
+     * IDs come from the in-memory index, entities from the cache.
+     * @param width Screen width
+     * @param height Screen height
+     * @return List of Televisions
+     */
+    @Override
+    public List<Television> getByWidthAndHeight(int width, int height) {
+        if (!indexes.isReady()) {
+            return rep.findByWidthAndHeight(width, height);
+        }
+        int[] ids = resolutions.find(width, height);
+        if (ids.length == 0) {
+            return List.of();
+        }
+        return cache.getAllById(ids, rep::findAllById);
     }
 
     /**
-     * Get last ID
-     * @return Last ID
+     * Get a page of Not Sold Televisions with resolution in range.
+     * IDs come from the in-memory index, entities from the cache.
+     * @param range Resolution range
+     * @param after Exclusive lower bound of Identification Number (cursor)
+     * @param limit Maximum page size
+     * @return List of Televisions ordered by ID
      */
     @Override
-    public int getLastId() {
-        Optional<Television> lastTv = rep.findFirstByOrderByIdDesc();
-        return lastTv.map(tv -> tv.getId() + 1).orElse(1);
+    public List<Television> getNotSoldInRange(ResolutionRange range, int after, int limit) {
+        if (!indexes.isReady()) {
+            return rep.findNotSoldInRange(range, after, PageRequest.ofSize(limit));
+        }
+        int[] ids = resolutions.findNotSold(range, after, limit);
+        if (ids.length == 0) {
+            return List.of();
+        }
+        return cache.getAllById(ids, rep::findAllById).stream()
+                .filter(tv -> !tv.isSold())
+                .toList();
     }
 
     /**
-     * Get Televisions by Width + Height
-     * @param width Screen width
-     * @param height Screen height
-     * @return List of Televisions
+     * Search Not Sold Televisions by model and producer.
+     * Ranked IDs come from the in-memory index, entities from the cache;
+     * until the index is built only plain prefix matches are found.
+     * @param query Search query
+     * @param limit Maximum number of results
+     * @return List of Televisions, most relevant first
      */
     @Override
-    public List<Television> getByWidthAndHeight(int width, int height) {
-        return rep.findByWidthAndHeight(width, height);
+    public List<Television> search(String query, int limit) {
+        if (!indexes.isReady()) {
+            String prefix = query.trim().toLowerCase(Locale.ROOT)
+                    .replaceAll("[!%_]", "!$0") + "%";
+            return rep.findNotSoldByPrefix(prefix, PageRequest.ofSize(limit));
+        }
+        int[] ids = search.search(query, limit);
+        if (ids.length == 0) {
+            return List.of();
+        }
+        return cache.getAllById(ids, rep::findAllById).stream()
+                .filter(tv -> !tv.isSold())
+                .toList();
     }
 
     /**
-     * Create new Television
+     * Count Not Sold Televisions by facets.
+     * Counts are maintained in memory by every write; until indexes
+     * are built they are counted from the database.
+     * @return Television facets
+     */
+    @Override
+    public TelevisionFacets getFacets() {
+        if (!indexes.isReady()) {
+            FacetIndex counted = new FacetIndex();
+            forEachNotSold(-1, FACET_PAGE_SIZE, counted::put);
+            return counted.facets();
+        }
+        return facets.facets();
+    }
+
+    /**
+     * Create new Television with one conditional insert.
+     * ID 0 is replaced with an allocated one; an allocated ID already
+     * taken by a client-chosen one is replaced with the next allocated ID.
      * @param tv New Television
-     * @return Operation result
+     * @return Operation result: false if the client-chosen ID is taken
      */
     @Override
+    @Transactional
     public boolean create(Television tv) {
-        alert.sendAlert(new Alert("create", tv.toString()));
+        boolean allocated = assignId(tv);
+        Instant now = Instant.now();
+        while (rep.insertIfAbsent(tv, now) != 1) {
+            if (!allocated) {
+                return false;
+            }
+            tv.setId(idAllocator.next());
+        }
 
-        if (rep.findById(tv.getId()).isPresent()) {
-            return false;
+        tv.setSold(false);
+        tv.setVersion(0);
+        tv.setModifiedAt(now);
+        alert.sendAlert(Alert.of(Alert.Action.CREATE, tv));
+        afterCommit(() -> {
+            indexes.put(tv);
+            invalidation.invalidate(tv.getId());
+        });
+        return true;
+    }
+
+    /**
+     * Create new Televisions in bulk, skipping taken IDs.
+     * Rows are inserted by one conditional statement per chunk, so
+     * client-chosen IDs taken before or concurrently are skipped instead
+     * of failing the batch; allocated IDs taken by client-chosen ones are
+     * replaced and inserted again. One summary alert is sent per batch.
+     * @param tvs New Televisions
+     * @return Created Televisions
+     */
+    @Override
+    @Transactional
+    public List<Television> createAll(List<Television> tvs) {
+        Instant now = Instant.now();
+        Set<Integer> chosen = new HashSet<>();
+        for (Television tv : tvs) {
+            if (tv.getId() != 0) {
+                chosen.add(tv.getId());
+            }
+        }
+        Map<Integer, Television> unique = new LinkedHashMap<>();
+        Set<Television> allocated = new HashSet<>();
+        for (Television tv : tvs) {
+            if (tv.getId() == 0) {
+                // Client-chosen IDs of this batch keep their Televisions
+                do {
+                    tv.setId(idAllocator.next());
+                } while (chosen.contains(tv.getId()));
+                allocated.add(tv);
+            }
+            unique.putIfAbsent(tv.getId(), tv);
         }
 
-        rep.save(tv);
+        List<Television> candidates = new ArrayList<>(unique.values());
+        List<Television> created = new ArrayList<>(candidates.size());
+        while (!candidates.isEmpty()) {
+            List<Television> retry = new ArrayList<>();
+            for (int i = 0; i < candidates.size(); i += INSERT_CHUNK) {
+                List<Television> chunk = candidates.subList(i, Math.min(i + INSERT_CHUNK, candidates.size()));
+                Set<Integer> inserted = new HashSet<>(rep.insertAllIfAbsent(chunk, now));
+                for (Television tv : chunk) {
+                    if (inserted.contains(tv.getId())) {
+                        tv.setSold(false);
+                        tv.setVersion(0);
+                        tv.setModifiedAt(now);
+                        created.add(tv);
+                    } else if (allocated.contains(tv)) {
+                        tv.setId(idAllocator.next());
+                        retry.add(tv);
+                    }
+                }
+            }
+            candidates = retry;
+        }
+        afterCommit(() -> {
+            indexes.putAll(created);
+            invalidation.invalidate(created.stream().mapToInt(Television::getId).toArray());
+        });
+
+        alert.sendAlert(Alert.batch(created.size()));
+        return created;
+    }
+
+    /**
+     * Replace ID 0 of new Television with an allocated one
+     * @param tv New Television
+     * @return true if the ID was allocated, false if chosen by the client
+     */
+    private boolean assignId(Television tv) {
+        if (tv.getId() != 0) {
+            return false;
+        }
+        tv.setId(idAllocator.next());
         return true;
     }
 
     /**
-     * Update Television
-     * @param tv Existing Television
-     * @return Operation result
+     * Update Television with one statement guarded by its version
+     * (optimistic locking), or unconditionally without a version
+     * @param tv Existing Television with the version it was read at,
+     *           or with {@link Television#ANY_VERSION}
+     * @return Operation result: false if absent, sold or changed since read
      */
     @Override
+    @Transactional
     public boolean update(Television tv) {
-        alert.sendAlert(new Alert("update", tv.toString()));
-
-        if (rep.findById(tv.getId()).isEmpty()) {
+        Instant now = Instant.now();
+        if (tv.getVersion() == Television.ANY_VERSION) {
+            Optional<Integer> version = rep.updateNotSold(tv, now);
+            if (version.isEmpty()) {
+                return false;
+            }
+            tv.setVersion(version.get());
+        } else if (rep.updateIfCurrent(tv, now) == 1) {
+            tv.setVersion(tv.getVersion() + 1);
+        } else {
             return false;
         }
 
-        rep.save(tv);
+        tv.setSold(false);
+        tv.setModifiedAt(now);
+        alert.sendAlert(Alert.of(Alert.Action.UPDATE, tv));
+        afterCommit(() -> {
+            indexes.put(tv);
+            invalidation.invalidate(tv.getId());
+        });
         return true;
     }
 
     /**
-     * Delete Television by ID
+     * Delete Television by ID with one statement
      * @param id Identification Number
-     * @return Operation result
+     * @return Operation result: false if absent
      */
     @Override
+    @Transactional
     public boolean deleteById(int id) {
-        boolean result = false;
-        String message = String.valueOf(id);
-        Optional<Television> optTv = rep.findById(id);
-
-        if (optTv.isPresent()) {
-            message = optTv.get().toString();
-            rep.deleteById(id);
-            result = true;
+        if (rep.deleteByIdReturningCount(id) != 1) {
+            return false;
         }
 
-        alert.sendAlert(new Alert("delete", message));
-        return result;
+        alert.sendAlert(new Alert(Alert.Action.DELETE, id));
+        afterCommit(() -> {
+            indexes.remove(id);
+            invalidation.invalidate(id);
+        });
+        return true;
     }
 
     /**
@@ -142,27 +360,131 @@ public class TelevisionServiceImpl implements TelevisionService {
     }
 
     /**
-     * Mark Television as Sold by ID
+     * Get page of Not Sold Televisions after given ID
+     * @param after Exclusive lower bound of Identification Number (cursor)
+     * @param limit Maximum page size
+     * @return List of Televisions ordered by ID
+     */
+    @Override
+    public List<Television> getNotSold(int after, int limit) {
+        return cache.getQuery(
+                new NotSoldPageKey(after, limit),
+                () -> findNotSold(after, limit)
+        );
+    }
+
+    /**
+     * Get version of Not Sold Television.
+     * Taken from the cache when present, otherwise only the version
+     * columns are queried.
      * @param id Identification Number
-     * @return Operation result
+     * @return Television version or null
      */
     @Override
-    public boolean sell(int id) {
-        boolean result = false;
-        String message = String.valueOf(id);
-        Optional<Television> optTv = rep.findById(id);
+    public TelevisionVersion getVersion(int id) {
+        Television tv = cache.peekById(id);
+        if (tv != null) {
+            return tv.isSold() ? null : TelevisionVersion.of(tv);
+        }
+        return rep.findNotSoldVersion(id).orElse(null);
+    }
 
-        if (optTv.isPresent()) {
-            Television tv = optTv.get();
+    /**
+     * Get versions of a page of Not Sold Televisions after given ID.
+     * Taken from the cached page when present, otherwise only the version
+     * columns are queried.
+     * @param after Exclusive lower bound of Identification Number (cursor)
+     * @param limit Maximum page size
+     * @return Television versions ordered by ID
+     */
+    @Override
+    public List<TelevisionVersion> getNotSoldVersions(int after, int limit) {
+        List<Television> tvs = cache.peekQuery(new NotSoldPageKey(after, limit));
+        if (tvs != null) {
+            return tvs.stream().map(TelevisionVersion::of).toList();
+        }
+        return rep.findNotSoldVersions(after, PageRequest.ofSize(limit));
+    }
 
-            tv.setSold(true);
-            rep.save(tv);
+    /**
+     * Walk Not Sold Televisions after given ID in pages of fixed size,
+     * so only one page is held in memory at a time
+     * @param after Exclusive lower bound of Identification Number (cursor)
+     * @param batchSize Page size fetched per query
+     * @param action Action applied to every Television
+     */
+    @Override
+    public void forEachNotSold(int after, int batchSize, Consumer<Television> action) {
+        List<Television> page;
+        do {
+            page = findNotSold(after, batchSize);
+            page.forEach(action);
+            if (!page.isEmpty()) {
+                after = page.get(page.size() - 1).getId();
+            }
+        } while (page.size() == batchSize);
+    }
 
-            message = tv.toString();
-            result = true;
+    /**
+     * Mark Television as Sold by ID.
+     * Uses one conditional update, so exactly one concurrent buyer wins.
+     * @param id Identification Number
+     * @return Operation result: true - this caller sold it, false - not
+     */
+    @Override
+    @Transactional
+    public boolean sell(int id) {
+        Optional<Integer> version = rep.markSold(id, Instant.now());
+        if (version.isEmpty()) {
+            return false;
         }
 
-        alert.sendAlert(new Alert("sell", message));
-        return result;
+        Alert sold = new Alert(Alert.Action.SELL, id);
+        sold.setSold(true);
+        alert.sendAlert(sold);
+        afterCommit(() -> {
+            indexes.markSold(id, version.get());
+            invalidation.invalidate(id);
+        });
+        return true;
     }
+
+    /**
+     * Run action after current transaction commits, so caches and indexes
+     * never see changes that were rolled back. Actions of concurrent
+     * transactions may run in any order: index writes carry the version
+     * their statement wrote, so a late one cannot replace a newer state
+     * @param action Action
+     */
+    private static void afterCommit(Runnable action) {
+        TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        action.run();
+                    }
+                }
+        );
+    }
+
+    /**
+     * Query page of Not Sold Televisions after given ID bypassing the cache
+     * @param after Exclusive lower bound of Identification Number (cursor)
+     * @param limit Maximum page size
+     * @return List of Televisions ordered by ID
+     */
+    private List<Television> findNotSold(int after, int limit) {
+        return rep.findBySoldAndIdGreaterThanOrderByIdAsc(
+                false,
+                after,
+                PageRequest.ofSize(limit)
+        );
+    }
+
+    /**
+     * Cache key of Not Sold Televisions page
+     * @param after Cursor
+     * @param limit Page size
+     */
+    private record NotSoldPageKey(int after, int limit) {}
 }
@@ -1,6 +1,4 @@
--- SQL script to create table used in the project
-
-drop table if exists televisions;
+-- Televisions
 
 create table televisions (
                              id serial primary key,
@@ -10,5 +8,7 @@ create table televisions (
                              width integer not null,
                              height integer not null,
                              sold boolean not null default false,
+                             version integer not null default 0,
+                             modified_at timestamp with time zone not null default now(),
                              constraint positive_width_and_height check (width > 0 and height > 0)
-);
\ No newline at end of file
+);
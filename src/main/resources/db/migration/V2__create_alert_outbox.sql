@@ -0,0 +1,8 @@
+-- Television change alerts waiting to be relayed to the queue
+
+create table alert_outbox (
+                              id bigserial primary key,
+                              television_id integer not null,
+                              payload bytea not null,
+                              created_at timestamp not null default now()
+);
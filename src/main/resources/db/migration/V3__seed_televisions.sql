@@ -1,4 +1,4 @@
--- SQL script to fill in table used in the project
+-- Sample televisions
 
 insert into televisions (id, model, producer, production_country, width, height) values
     (1, '43PFS5505/60', 'Philips', NULL, 1920, 1080),
@@ -0,0 +1,9 @@
+-- Unsold televisions in ID order: keyset pages, streaming and page ETags.
+-- Partial, so sold rows cost nothing; version columns are included
+-- so ETag lookups can be answered from the index alone.
+create index televisions_unsold_id_idx on televisions (id)
+    include (version, modified_at)
+    where sold = false;
+
+-- Resolution lookups
+create index televisions_width_height_idx on televisions (width, height);
@@ -0,0 +1,7 @@
+-- Television IDs are handed out by the application in blocks:
+-- nextval() reserves the block [value, value + 50), so the increment
+-- must equal tvs.id.block-size. Sample rows were inserted with explicit
+-- IDs, so the sequence restarts after the highest one.
+alter sequence televisions_id_seq increment by 50;
+
+select setval('televisions_id_seq', coalesce(max(id), 0) + 1, false) from televisions;
@@ -0,0 +1,41 @@
+package ru.sfu.boot;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+
+/**
+ * Test Data Source backed by an embedded PostgreSQL server, so tests run
+ * against the real database without external services. Flyway migrates
+ * it like the production database.
+ * PostgreSQL refuses to run as root; when tests run as root (e.g. in
+ * a CI container) embedded-postgres starts it with 'unshare -U', in
+ * a user namespace where it is not root.
+ * @author Agapchenko V.V.
+ */
+@TestConfiguration(proxyBeanMethods = false)
+public class EmbeddedPostgresConfig {
+
+    /**
+     * Start embedded PostgreSQL server
+     * @return Server, stopped with the context
+     * @throws IOException Server failed to start
+     */
+    @Bean(destroyMethod = "close")
+    public EmbeddedPostgres embeddedPostgres() throws IOException {
+        return EmbeddedPostgres.start();
+    }
+
+    /**
+     * Data Source of the 'postgres' database
+     * @param postgres Embedded PostgreSQL server
+     * @return Data Source
+     */
+    @Bean
+    public DataSource dataSource(EmbeddedPostgres postgres) {
+        return postgres.getPostgresDatabase();
+    }
+}
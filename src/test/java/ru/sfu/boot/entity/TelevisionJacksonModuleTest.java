@@ -0,0 +1,79 @@
+package ru.sfu.boot.entity;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.MismatchedInputException;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Television Jackson Module tests: fields of the wrong type are rejected
+ * instead of coerced, and unknown structured fields are skipped whole
+ * @author Agapchenko V.V.
+ */
+class TelevisionJacksonModuleTest {
+
+    private final ObjectMapper mapper = new ObjectMapper()
+            .registerModule(new TelevisionJacksonModule())
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+
+    @Test
+    void televisionIsRead() throws Exception {
+        Television tv = read("{\"id\":7,\"model\":\"M\",\"producer\":\"P\",\"productionCountry\":null,"
+                + "\"width\":1920,\"height\":1080,\"sold\":true,\"version\":3,"
+                + "\"modifiedAt\":\"2022-12-01T10:00:00Z\"}");
+
+        assertThat(tv.getId()).isEqualTo(7);
+        assertThat(tv.getModel()).isEqualTo("M");
+        assertThat(tv.getProductionCountry()).isNull();
+        assertThat(tv.getWidth()).isEqualTo(1920);
+        assertThat(tv.isSold()).isTrue();
+        assertThat(tv.getVersion()).isEqualTo(3);
+        assertThat(tv.getModifiedAt()).hasToString("2022-12-01T10:00:00Z");
+    }
+
+    @Test
+    void missingVersionIsAnyVersion() throws Exception {
+        assertThat(read("{\"id\":7}").getVersion()).isEqualTo(Television.ANY_VERSION);
+    }
+
+    @Test
+    void wrongTokensAreRejected() {
+        for (String field : new String[] {
+                "\"width\":\"abc\"",
+                "\"width\":1920.7",
+                "\"width\":\"1920\"",
+                "\"width\":99999999999",
+                "\"version\":{}",
+                "\"model\":[\"M\"]",
+                "\"model\":{\"name\":\"M\"}",
+                "\"model\":42",
+                "\"sold\":\"yes\"",
+                "\"modifiedAt\":[]"
+        }) {
+            assertThatThrownBy(() -> read("{\"id\":7," + field + "}"))
+                    .as(field)
+                    .isInstanceOf(MismatchedInputException.class);
+        }
+    }
+
+    @Test
+    void unknownStructuredFieldIsSkipped() throws Exception {
+        Television tv = read("{\"extra\":{\"model\":\"X\",\"list\":[1,{\"id\":2}]},\"model\":\"M\"}");
+
+        assertThat(tv.getModel()).isEqualTo("M");
+        assertThat(tv.getId()).isEqualTo(0);
+    }
+
+    /**
+     * Read Television from JSON
+     * @param json JSON object
+     * @return Television
+     * @throws Exception Malformed input
+     */
+    private Television read(String json) throws Exception {
+        return mapper.readValue(json, Television.class);
+    }
+}
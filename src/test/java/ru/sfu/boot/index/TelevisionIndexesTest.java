@@ -0,0 +1,61 @@
+package ru.sfu.boot.index;
+
+import org.junit.jupiter.api.Test;
+import ru.sfu.boot.entity.ResolutionRange;
+import ru.sfu.boot.entity.Television;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Television Indexes tests: writes applied after commit out of order
+ * never replace a newer indexed state
+ * @author Agapchenko V.V.
+ */
+class TelevisionIndexesTest {
+
+    private static final ResolutionRange ALL = ResolutionRange.of(null, null, null, null, null);
+
+    private final ResolutionIndex resolutions = new ResolutionIndex();
+    private final TelevisionIndexes indexes = new TelevisionIndexes(List.of(resolutions), null, 500);
+
+    @Test
+    void updateAppliedAfterSaleKeepsTelevisionSold() {
+        indexes.put(television(1, 0));
+        indexes.markSold(1, 2);
+        indexes.put(television(1, 1));
+
+        assertThat(resolutions.findNotSold(ALL, -1, 10)).isEmpty();
+        assertThat(resolutions.find(1920, 1080)).containsExactly(1);
+    }
+
+    @Test
+    void staleTelevisionsOfBatchAreSkipped() {
+        indexes.markSold(1, 1);
+        indexes.putAll(List.of(television(1, 0), television(2, 0)));
+
+        assertThat(resolutions.findNotSold(ALL, -1, 10)).containsExactly(2);
+    }
+
+    @Test
+    void removedTelevisionCanBeCreatedAgain() {
+        indexes.markSold(1, 1);
+        indexes.remove(1);
+        indexes.put(television(1, 0));
+
+        assertThat(resolutions.findNotSold(ALL, -1, 10)).containsExactly(1);
+    }
+
+    /**
+     * Create Not Sold Television written at given version
+     * @param id Identification Number
+     * @param version Version
+     * @return Television
+     */
+    private static Television television(int id, int version) {
+        Television tv = new Television(id, "Model " + id, "Producer", "Russia", 1920, 1080);
+        tv.setVersion(version);
+        return tv;
+    }
+}
@@ -0,0 +1,79 @@
+package ru.sfu.boot.journal;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import ru.sfu.boot.entity.Alert;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Alert Journal tests: records survive reopening, and a record whose
+ * bytes were not all written is not replayed
+ * @author Agapchenko V.V.
+ */
+class AlertJournalTest {
+
+    private static final int SEGMENT_SIZE = 4096;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void recordsAreReplayedAfterReopening() throws IOException {
+        AlertJournal journal = new AlertJournal(directory, SEGMENT_SIZE);
+        journal.append(new Alert(Alert.Action.CREATE, 1), 10);
+        journal.append(new Alert(Alert.Action.SELL, 1), 20);
+        journal.force();
+
+        assertThat(new AlertJournal(directory, SEGMENT_SIZE).history(1))
+                .extracting(AlertJournal.Entry::timestamp)
+                .containsExactly(10L, 20L);
+    }
+
+    @Test
+    void tornRecordEndsReplay() throws IOException {
+        AlertJournal journal = new AlertJournal(directory, SEGMENT_SIZE);
+        journal.append(new Alert(Alert.Action.CREATE, 1), 10);
+        journal.append(new Alert(Alert.Action.SELL, 1), 20);
+        journal.force();
+        // Lose the last byte of the second record, as if its page was not written back
+        try (FileChannel channel = FileChannel.open(
+                directory.resolve(String.format("%020d.log", 0)), StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.allocate(1), lastWrittenByte());
+        }
+
+        AlertJournal replayed = new AlertJournal(directory, SEGMENT_SIZE);
+        assertThat(replayed.history(1))
+                .extracting(AlertJournal.Entry::timestamp)
+                .containsExactly(10L);
+
+        replayed.append(new Alert(Alert.Action.DELETE, 1), 30);
+        assertThat(replayed.history(1))
+                .extracting(AlertJournal.Entry::timestamp)
+                .containsExactly(10L, 30L);
+    }
+
+    /**
+     * Find the position of the last non-zero byte of the first segment
+     * @return File position
+     * @throws IOException Segment file error
+     */
+    private long lastWrittenByte() throws IOException {
+        try (FileChannel channel = FileChannel.open(
+                directory.resolve(String.format("%020d.log", 0)), StandardOpenOption.READ)) {
+            ByteBuffer segment = ByteBuffer.allocate(SEGMENT_SIZE);
+            channel.read(segment, 0);
+            int last = SEGMENT_SIZE - 1;
+            while (segment.get(last) == 0) {
+                last--;
+            }
+            return last;
+        }
+    }
+}
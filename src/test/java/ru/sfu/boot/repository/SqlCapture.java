@@ -0,0 +1,45 @@
+package ru.sfu.boot.repository;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Records SQL prepared by Hibernate, so tests can inspect the statements
+ * repository methods really run
+ * @author Agapchenko V.V.
+ */
+public class SqlCapture implements StatementInspector {
+
+    private static final List<String> statements = new CopyOnWriteArrayList<>();
+
+    /**
+     * Record statement and leave it unchanged
+     * @param sql SQL statement
+     * @return Same statement
+     */
+    @Override
+    public String inspect(String sql) {
+        statements.add(sql);
+        return sql;
+    }
+
+    /**
+     * Forget recorded statements
+     */
+    public static void clear() {
+        statements.clear();
+    }
+
+    /**
+     * Get the last recorded statement
+     * @return SQL statement
+     */
+    public static String last() {
+        if (statements.isEmpty()) {
+            throw new IllegalStateException("No SQL statement recorded");
+        }
+        return statements.get(statements.size() - 1);
+    }
+}
@@ -0,0 +1,112 @@
+package ru.sfu.boot.repository;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.sfu.boot.EmbeddedPostgresConfig;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Query plan regression tests: the SQL that repository methods run is
+ * explained on a realistically sized table and must use the indexes
+ * of the migrations instead of scanning the table
+ * @author Agapchenko V.V.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector"
+        + "=ru.sfu.boot.repository.SqlCapture")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(EmbeddedPostgresConfig.class)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class TelevisionRepositoryPlanTest {
+
+    /**
+     * Number of generated Televisions
+     */
+    private static final int ROWS = 200_000;
+    /**
+     * One in this many generated Televisions is unsold
+     */
+    private static final int UNSOLD_EVERY = 50;
+    /**
+     * Number of distinct generated resolutions
+     */
+    private static final int RESOLUTIONS = 500;
+
+    @Autowired
+    private TelevisionRepository rep;
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    /**
+     * Generate Televisions and refresh planner statistics
+     */
+    @BeforeAll
+    void populate() {
+        jdbc.update("insert into televisions (id, model, producer, width, height, sold)"
+                + " select 100000 + n, 'Model ' || n, 'Producer ' || (n % 20),"
+                + " 1000 + n % ?, 500 + n % ?, n % ? <> 0"
+                + " from generate_series(1, ?) as n",
+                RESOLUTIONS, RESOLUTIONS, UNSOLD_EVERY, ROWS);
+        jdbc.execute("analyze televisions");
+    }
+
+    @Test
+    void findBySoldUsesPartialIndex() {
+        SqlCapture.clear();
+        rep.findBySold(false);
+        assertThat(explain(SqlCapture.last(), false))
+                .doesNotContain("Seq Scan")
+                .contains("televisions_unsold_id_idx");
+    }
+
+    @Test
+    void notSoldPageUsesPartialIndex() {
+        SqlCapture.clear();
+        rep.findBySoldAndIdGreaterThanOrderByIdAsc(false, 150_000, PageRequest.ofSize(100));
+        assertThat(explain(SqlCapture.last(), false, 150_000, 0, 100))
+                .doesNotContain("Seq Scan")
+                .contains("televisions_unsold_id_idx");
+    }
+
+    @Test
+    void findByWidthAndHeightUsesCompositeIndex() {
+        SqlCapture.clear();
+        rep.findByWidthAndHeight(1042, 542);
+        assertThat(explain(SqlCapture.last(), 1042, 542))
+                .doesNotContain("Seq Scan")
+                .contains("televisions_width_height_idx");
+    }
+
+    /**
+     * Explain statement with parameters inlined, so the planner sees
+     * the same values as at run time
+     * @param sql SQL with '?' parameters
+     * @param params Parameter values in order
+     * @return Plan text
+     */
+    private String explain(String sql, Object... params) {
+        assertThat(sql.chars().filter(c -> c == '?').count())
+                .as("parameters of %s", sql)
+                .isEqualTo(params.length);
+        StringBuilder inlined = new StringBuilder("explain ");
+        int param = 0;
+        for (char c : sql.toCharArray()) {
+            if (c == '?') {
+                inlined.append(params[param++]);
+            } else {
+                inlined.append(c);
+            }
+        }
+        List<String> plan = jdbc.queryForList(inlined.toString(), String.class);
+        return String.join("\n", plan);
+    }
+}
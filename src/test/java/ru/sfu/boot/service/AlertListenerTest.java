@@ -0,0 +1,71 @@
+package ru.sfu.boot.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import ru.sfu.boot.entity.Alert;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Alert Listener tests: relayed Alerts delivered again are dropped by
+ * their outbox ID, unless the first delivery failed
+ * @author Agapchenko V.V.
+ */
+class AlertListenerTest {
+
+    private final List<Long> handled = new ArrayList<>();
+    private boolean failing;
+    private final AlertListener listener = new AlertListener(
+            new AlertDispatcher(List.of(alert -> {
+                if (failing) {
+                    throw new IllegalStateException("Handler failure");
+                }
+                handled.add((long) alert.getCount());
+            })),
+            new SimpleMeterRegistry()
+    );
+
+    @Test
+    void duplicateOutboxIdIsDropped() {
+        listen(1, 10L);
+        listen(1, 11L);
+        listen(1, 10L);
+        listen(1, 11L);
+        listen(2, 10L);
+
+        assertThat(handled).containsExactly(10L, 11L, 10L);
+    }
+
+    @Test
+    void alertWithoutOutboxIdIsAlwaysHandled() {
+        listen(1, null);
+        listen(1, null);
+
+        assertThat(handled).hasSize(2);
+    }
+
+    @Test
+    void failedAlertIsHandledOnRedelivery() {
+        failing = true;
+        assertThatThrownBy(() -> listen(1, 10L)).isInstanceOf(IllegalStateException.class);
+        failing = false;
+        listen(1, 10L);
+
+        assertThat(handled).containsExactly(10L);
+    }
+
+    /**
+     * Consume Alert of Television carrying outbox ID as its count
+     * @param televisionId Television ID
+     * @param outboxId Outbox ID or null
+     */
+    private void listen(int televisionId, Long outboxId) {
+        Alert alert = new Alert(Alert.Action.UPDATE, televisionId);
+        alert.setCount(outboxId == null ? 0 : outboxId.intValue());
+        listener.listenMethod(alert, System.currentTimeMillis(), outboxId);
+    }
+}
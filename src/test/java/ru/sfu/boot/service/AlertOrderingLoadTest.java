@@ -0,0 +1,192 @@
+package ru.sfu.boot.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.jms.Message;
+import org.apache.activemq.artemis.api.core.TransportConfiguration;
+import org.apache.activemq.artemis.core.config.impl.ConfigurationImpl;
+import org.apache.activemq.artemis.core.remoting.impl.invm.InVMAcceptorFactory;
+import org.apache.activemq.artemis.core.server.embedded.EmbeddedActiveMQ;
+import org.apache.activemq.artemis.jms.client.ActiveMQConnectionFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.jms.JmsProperties;
+import org.springframework.jms.listener.DefaultMessageListenerContainer;
+import org.springframework.jms.listener.SessionAwareMessageListener;
+import ru.sfu.boot.entity.Alert;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Load test of ordered parallel Alert consumption: Alerts of many
+ * Televisions are sent interleaved through {@link AlertServiceImpl} and
+ * consumed by several concurrent consumers through {@link AlertListener}
+ * over an in-VM broker; every Television must see its Alerts in the
+ * order they were sent, even when one of them fails and is redelivered
+ * @author Agapchenko V.V.
+ */
+class AlertOrderingLoadTest {
+
+    private static final String QUEUE = "television-queue";
+    private static final int CONSUMERS = 8;
+    private static final int TELEVISIONS = 50;
+    private static final int ALERTS_PER_TELEVISION = 200;
+
+    private EmbeddedActiveMQ broker;
+    private ActiveMQConnectionFactory connectionFactory;
+    private DefaultMessageListenerContainer container;
+
+    /**
+     * Next expected sequence number by Television ID
+     */
+    private final Map<Integer, Integer> expected = new ConcurrentHashMap<>();
+    private final Queue<String> violations = new ConcurrentLinkedQueue<>();
+    private final Set<String> consumerThreads = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger handled = new AtomicInteger();
+
+    /**
+     * Start broker
+     * @throws Exception Broker failure
+     */
+    @BeforeEach
+    void startBroker() throws Exception {
+        broker = new EmbeddedActiveMQ();
+        broker.setConfiguration(new ConfigurationImpl()
+                .setSecurityEnabled(false)
+                .setPersistenceEnabled(false)
+                .addAcceptorConfiguration(new TransportConfiguration(InVMAcceptorFactory.class.getName())));
+        broker.start();
+        connectionFactory = new ActiveMQConnectionFactory("vm://0");
+    }
+
+    /**
+     * Stop consumers and broker
+     * @throws Exception Broker failure
+     */
+    @AfterEach
+    void stopBroker() throws Exception {
+        if (container != null) {
+            container.shutdown();
+        }
+        connectionFactory.close();
+        broker.stop();
+    }
+
+    @Test
+    void alertsOfEachTelevisionAreHandledInOrder() throws InterruptedException {
+        consume(alert -> {});
+        send();
+        awaitHandled(TELEVISIONS * ALERTS_PER_TELEVISION);
+
+        assertThat(violations).isEmpty();
+        assertThat(consumerThreads).hasSizeGreaterThan(1);
+    }
+
+    @Test
+    void failedAlertIsRedeliveredBeforeLaterAlertsOfItsTelevision() throws InterruptedException {
+        AtomicBoolean failed = new AtomicBoolean();
+        consume(alert -> {
+            if (alert.getTelevisionId() == 7 && sequence(alert) == ALERTS_PER_TELEVISION / 2
+                    && failed.compareAndSet(false, true)) {
+                throw new IllegalStateException("Handler failure");
+            }
+        });
+        send();
+        awaitHandled(TELEVISIONS * ALERTS_PER_TELEVISION);
+
+        assertThat(failed).isTrue();
+        assertThat(violations).isEmpty();
+    }
+
+    /**
+     * Start concurrent consumers dispatching to a handler that checks
+     * order after the given one succeeds
+     * @param before Handler run first, may fail
+     */
+    private void consume(AlertHandler before) {
+        AlertHandler checker = alert -> {
+            int id = alert.getTelevisionId();
+            int next = expected.getOrDefault(id, 0);
+            if (sequence(alert) != next) {
+                violations.add("Television " + id + ": expected " + next + ", got " + sequence(alert));
+            }
+            expected.put(id, sequence(alert) + 1);
+            consumerThreads.add(Thread.currentThread().getName());
+            handled.incrementAndGet();
+        };
+        AlertListener listener = new AlertListener(
+                new AlertDispatcher(List.of(before, checker)), new SimpleMeterRegistry()
+        );
+        AlertMessageConverter converter = new AlertMessageConverter();
+
+        container = new DefaultMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.setDestinationName(QUEUE);
+        container.setSessionTransacted(true);
+        container.setConcurrency(CONSUMERS + "-" + CONSUMERS);
+        container.setMessageListener((SessionAwareMessageListener<Message>) (message, session) ->
+                listener.listenMethod(
+                        (Alert) converter.fromMessage(message),
+                        message.getJMSTimestamp(),
+                        message.propertyExists(AlertServiceImpl.OUTBOX_ID_PROPERTY)
+                                ? message.getLongProperty(AlertServiceImpl.OUTBOX_ID_PROPERTY)
+                                : null
+                ));
+        container.afterPropertiesSet();
+        container.start();
+    }
+
+    /**
+     * Send Alerts of all Televisions interleaved, one transaction per round
+     */
+    private void send() {
+        JmsProperties properties = new JmsProperties();
+        properties.getTemplate().setDefaultDestination(QUEUE);
+        AlertServiceImpl service = new AlertServiceImpl(
+                connectionFactory, new AlertMessageConverter(), properties,
+                new AlertProducerStats(new SimpleMeterRegistry())
+        );
+        for (int seq = 0; seq < ALERTS_PER_TELEVISION; seq++) {
+            List<Alert> round = new ArrayList<>(TELEVISIONS);
+            for (int id = 1; id <= TELEVISIONS; id++) {
+                Alert alert = new Alert(Alert.Action.UPDATE, id);
+                alert.setModel(String.valueOf(seq));
+                round.add(alert);
+            }
+            service.sendAlerts(round);
+        }
+    }
+
+    /**
+     * Wait until the given number of Alerts is handled
+     * @param count Number of Alerts
+     * @throws InterruptedException Interrupted while waiting
+     */
+    private void awaitHandled(int count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.MINUTES.toNanos(1);
+        while (handled.get() < count && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+        }
+        assertThat(handled).hasValue(count);
+    }
+
+    /**
+     * Sequence number of Alert within its Television
+     * @param alert Alert
+     * @return Sequence number
+     */
+    private static int sequence(Alert alert) {
+        return Integer.parseInt(alert.getModel());
+    }
+}
@@ -0,0 +1,73 @@
+package ru.sfu.boot.service;
+
+import org.junit.jupiter.api.Test;
+import ru.sfu.boot.entity.Television;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Television Cache tests: callers get copies, the cache stays bounded,
+ * entries expire and large lookups are loaded in batches
+ * @author Agapchenko V.V.
+ */
+class TelevisionCacheTest {
+
+    private final List<Integer> loadSizes = new ArrayList<>();
+
+    @Test
+    void changingReturnedTelevisionKeepsCachedOne() {
+        TelevisionCache cache = new TelevisionCache(10, 10, Duration.ofMinutes(1), 500);
+        cache.getById(1, id -> Optional.of(television(id))).setModel("Changed");
+        cache.getById(1, id -> Optional.empty()).setModel("Changed");
+
+        assertThat(cache.getById(1, id -> Optional.empty()).getModel()).isEqualTo("Model 1");
+    }
+
+    @Test
+    void cacheStaysBounded() {
+        TelevisionCache cache = new TelevisionCache(100, 10, Duration.ofMinutes(1), 500);
+        for (int id = 1; id <= 1000; id++) {
+            cache.getById(id, i -> Optional.of(television(i)));
+        }
+
+        assertThat(cache.getSize()).isLessThanOrEqualTo(100);
+        assertThat(cache.peekById(1000)).isNotNull();
+    }
+
+    @Test
+    void expiredTelevisionIsLoadedAgain() throws InterruptedException {
+        TelevisionCache cache = new TelevisionCache(10, 10, Duration.ofMillis(1), 500);
+        cache.getById(1, id -> Optional.of(television(id)));
+        Thread.sleep(10);
+
+        assertThat(cache.peekById(1)).isNull();
+    }
+
+    @Test
+    void missingTelevisionsAreLoadedInBatches() {
+        TelevisionCache cache = new TelevisionCache(10, 10, Duration.ofMinutes(1), 500);
+        int[] ids = IntStream.rangeClosed(1, 1200).toArray();
+        List<Television> found = cache.getAllById(ids, batch -> {
+            loadSizes.add(batch.size());
+            return batch.stream().map(TelevisionCacheTest::television).toList();
+        });
+
+        assertThat(found).hasSize(1200);
+        assertThat(loadSizes).containsExactly(500, 500, 200);
+    }
+
+    /**
+     * Create Television
+     * @param id Identification Number
+     * @return Television
+     */
+    private static Television television(int id) {
+        return new Television(id, "Model " + id, "Producer", "Russia", 1920, 1080);
+    }
+}
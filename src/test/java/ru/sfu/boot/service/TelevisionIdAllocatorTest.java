@@ -0,0 +1,41 @@
+package ru.sfu.boot.service;
+
+import org.junit.jupiter.api.Test;
+import ru.sfu.boot.repository.TelevisionRepository;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Television ID Allocator tests: blocks are handed out in full and the
+ * block size must match the sequence increment
+ * @author Agapchenko V.V.
+ */
+class TelevisionIdAllocatorTest {
+
+    private final TelevisionRepository rep = mock(TelevisionRepository.class);
+
+    @Test
+    void blockSizeDifferentFromSequenceIncrementFailsStartup() {
+        when(rep.findIdSequenceIncrement()).thenReturn(Optional.of(1L));
+
+        assertThatThrownBy(() -> new TelevisionIdAllocator(rep, 50).checkBlockSize())
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("increments by 1");
+    }
+
+    @Test
+    void idsOfBlockAreHandedOutBeforeNextOneIsReserved() {
+        when(rep.findIdSequenceIncrement()).thenReturn(Optional.of(2L));
+        when(rep.reserveIdBlock()).thenReturn(10L, 20L);
+        TelevisionIdAllocator allocator = new TelevisionIdAllocator(rep, 2);
+        allocator.checkBlockSize();
+
+        assertThat(new int[] {allocator.next(), allocator.next(), allocator.next()})
+                .containsExactly(10, 11, 20);
+    }
+}
@@ -0,0 +1,125 @@
+package ru.sfu.boot.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.sfu.boot.EmbeddedPostgresConfig;
+import ru.sfu.boot.entity.Television;
+import ru.sfu.boot.index.FacetIndex;
+import ru.sfu.boot.index.ResolutionIndex;
+import ru.sfu.boot.index.SearchIndex;
+import ru.sfu.boot.index.TelevisionIndexes;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Statement count tests: every write of a Television is one SQL statement
+ * that reports its outcome by the affected row count, without reading
+ * the row first, plus one insert of its Alert into the outbox when it
+ * succeeds
+ * @author Agapchenko V.V.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({
+        EmbeddedPostgresConfig.class,
+        TelevisionServiceImpl.class,
+        OutboxAlertService.class,
+        TelevisionCache.class,
+        TelevisionIndexes.class,
+        ResolutionIndex.class,
+        SearchIndex.class,
+        FacetIndex.class,
+        TelevisionIdAllocator.class
+})
+class TelevisionServiceStatementCountTest {
+
+    /**
+     * ID of the Television present before each test
+     */
+    private static final int ID = 900_001;
+
+    @Autowired
+    private TelevisionService service;
+    @Autowired
+    private JdbcTemplate jdbc;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @MockBean
+    private AlertServiceImpl jms;
+    @MockBean
+    private CacheInvalidationBroadcaster invalidation;
+
+    private Statistics statistics;
+
+    /**
+     * Insert a Television behind Hibernate's back and reset statistics
+     */
+    @BeforeEach
+    void setUp() {
+        jdbc.update("insert into televisions (id, model, producer, width, height, sold)"
+                + " values (?, 'Model', 'Producer', 1920, 1080, false)", ID);
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void createIsInsertAndOutboxInsert() {
+        assertThat(service.create(television(ID + 1, 0))).isTrue();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    void createOfTakenIdIsOneStatement() {
+        assertThat(service.create(television(ID, 0))).isFalse();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void updateIsUpdateAndOutboxInsert() {
+        assertThat(service.update(television(ID, 0))).isTrue();
+        assertThat(service.update(television(ID, 0))).isFalse();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+    }
+
+    @Test
+    void updateWithoutVersionIsUpdateAndOutboxInsert() {
+        assertThat(service.update(television(ID, Television.ANY_VERSION))).isTrue();
+        assertThat(service.update(television(ID, Television.ANY_VERSION))).isTrue();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(4);
+    }
+
+    @Test
+    void deleteIsDeleteAndOutboxInsert() {
+        assertThat(service.deleteById(ID)).isTrue();
+        assertThat(service.deleteById(ID)).isFalse();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+    }
+
+    @Test
+    void sellIsUpdateAndOutboxInsert() {
+        assertThat(service.sell(ID)).isTrue();
+        assertThat(service.sell(ID)).isFalse();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+    }
+
+    /**
+     * Create Television read at given version
+     * @param id Identification number
+     * @param version Version it was read at
+     * @return Television
+     */
+    private static Television television(int id, int version) {
+        Television tv = new Television(id, "Model " + id, "Producer", "Russia", 1920, 1080);
+        tv.setVersion(version);
+        return tv;
+    }
+}